@@ -0,0 +1,86 @@
+package hotel.benchmarks;
+
+import hotel.dao.RoomDao;
+import hotel.service.HotelState;
+import hotel.service.RoomAvailabilityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityIndexBenchmark {
+
+    @Param({"1000", "20000"})
+    public int roomCount;
+
+    @Param({"1", "14"})
+    public int rangeDays;
+
+    private Map<Integer, LocalDate> endDates;
+    private RoomAvailabilityIndex index;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        HotelState hotelState = new HotelState();
+        LocalDate today = hotelState.getCurrentDay();
+
+        Random random = new Random(11);
+        endDates = new LinkedHashMap<>();
+        for (int number = 1; number <= roomCount; number++) {
+            endDates.put(number, random.nextInt(3) == 0 ? null : today.plusDays(random.nextInt(90)));
+        }
+
+        RoomDao roomDao = new RoomDao() {
+            @Override
+            public Map<Integer, LocalDate> findEndDates() {
+                return endDates;
+            }
+        };
+
+        index = new RoomAvailabilityIndex(roomDao, hotelState, 365);
+        index.reload();
+
+        from = today.plusDays(30);
+        to = from.plusDays(rangeDays - 1);
+    }
+
+    @Benchmark
+    public List<Integer> bitmapIndex() {
+        return index.getFreeRooms(from, to);
+    }
+
+    @Benchmark
+    public List<Integer> linearScan() {
+        List<Integer> free = new ArrayList<>();
+        for (Map.Entry<Integer, LocalDate> entry : endDates.entrySet()) {
+            LocalDate endDate = entry.getValue();
+            if (endDate == null || from.isAfter(endDate)) {
+                free.add(entry.getKey());
+            }
+        }
+        return free;
+    }
+}
@@ -0,0 +1,29 @@
+package hotel.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "hotel.benchmarks.*";
+        String result = args.length > 1 ? args[1] : "jmh-result.json";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .exclude(BenchmarkRunner.class.getName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+
+        new Runner(options).run();
+    }
+}
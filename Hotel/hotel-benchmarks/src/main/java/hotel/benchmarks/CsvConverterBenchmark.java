@@ -0,0 +1,90 @@
+package hotel.benchmarks;
+
+import hotel.GuestCSVConverter;
+import hotel.RoomCSVConverter;
+import hotel.Service;
+import hotel.ServiceCSVConverter;
+import hotel.dto.GuestWithServicesDto;
+import hotel.dto.RoomWithGuestsDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvConverterBenchmark {
+
+    private final RoomCSVConverter roomConverter = new RoomCSVConverter();
+    private final GuestCSVConverter guestConverter = new GuestCSVConverter(null);
+    private final ServiceCSVConverter serviceConverter = new ServiceCSVConverter();
+
+    private RoomWithGuestsDto room;
+    private GuestWithServicesDto guest;
+    private Service service;
+    private Map<String, Service> servicesById;
+
+    private String roomLine;
+    private String guestLine;
+    private String serviceLine;
+
+    @Setup
+    public void setUp() {
+        List<Service> services = Fixtures.services(10);
+        servicesById = services.stream().collect(Collectors.toMap(Service::getId, Function.identity()));
+
+        room = Fixtures.roomWithGuests(101, 3);
+        guest = Fixtures.guestWithServices(services, 5);
+        service = services.get(0);
+
+        roomLine = roomConverter.toCSV(room);
+        guestLine = guestConverter.toCSV(guest);
+        serviceLine = serviceConverter.toCSV(service);
+    }
+
+    @Benchmark
+    public String roomToCsv() {
+        return roomConverter.toCSV(room);
+    }
+
+    @Benchmark
+    public RoomWithGuestsDto roomFromCsv() {
+        return roomConverter.fromCSV(roomLine);
+    }
+
+    @Benchmark
+    public String guestToCsv() {
+        return guestConverter.toCSV(guest);
+    }
+
+    @Benchmark
+    public GuestWithServicesDto guestFromCsv() {
+        return guestConverter.fromCSV(guestLine, servicesById);
+    }
+
+    @Benchmark
+    public String serviceToCsv() {
+        return serviceConverter.toCSV(service);
+    }
+
+    @Benchmark
+    public Service serviceFromCsv() {
+        return serviceConverter.fromCSV(serviceLine);
+    }
+}
@@ -0,0 +1,65 @@
+package hotel.benchmarks;
+
+import hotel.CSVService;
+import hotel.RoomCSVConverter;
+import hotel.dto.RoomWithGuestsDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvImportBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private final RoomCSVConverter converter = new RoomCSVConverter();
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void generateFile() throws IOException {
+        file = Files.createTempFile("rooms-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(converter.getHeaders());
+            writer.newLine();
+            for (int i = 1; i <= rows; i++) {
+                writer.write(converter.toCSV(Fixtures.roomWithGuests(i, 1 + i % 3)));
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<RoomWithGuestsDto> importRooms() {
+        return CSVService.importFromCSV(file.toString(), converter);
+    }
+}
@@ -0,0 +1,68 @@
+package hotel.benchmarks;
+
+import hotel.Guest;
+import hotel.Room;
+import hotel.Service;
+import hotel.dto.GuestDto;
+import hotel.dto.RoomDto;
+import hotel.dto.ServiceDto;
+import hotel.mapper.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMapperBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private final DtoMapper mapper = new DtoMapper();
+
+    private List<Service> services;
+    private List<Guest> guests;
+    private Map<Integer, Room> rooms;
+
+    @Setup
+    public void setUp() {
+        services = Fixtures.services(size);
+        guests = Fixtures.guests(size);
+        rooms = new LinkedHashMap<>();
+        for (Room room : Fixtures.rooms(size, 7)) {
+            rooms.put(room.getNumber(), room);
+        }
+    }
+
+    @Benchmark
+    public List<ServiceDto> toServiceDtoList() {
+        return mapper.toServiceDtoList(services);
+    }
+
+    @Benchmark
+    public List<GuestDto> toGuestDtoList() {
+        return mapper.toGuestDtoList(guests);
+    }
+
+    @Benchmark
+    public Map<Integer, RoomDto> toRoomDtoMap() {
+        return mapper.toRoomDtoMap(rooms);
+    }
+}
@@ -0,0 +1,82 @@
+package hotel.benchmarks;
+
+import enums.RoomStatus;
+import enums.RoomType;
+import hotel.Guest;
+import hotel.GuestServiceUsage;
+import hotel.Room;
+import hotel.Service;
+import hotel.dto.GuestWithServicesDto;
+import hotel.dto.RoomWithGuestsDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class Fixtures {
+
+    static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private static final RoomType[] TYPES = RoomType.values();
+    private static final RoomStatus[] STATUSES = RoomStatus.values();
+
+    private Fixtures() {
+    }
+
+    static List<Room> rooms(int count, long seed) {
+        Random random = new Random(seed);
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Room room = new Room(i + 1, TYPES[random.nextInt(TYPES.length)], 1000 + random.nextInt(9000), 1 + random.nextInt(4));
+            RoomStatus status = STATUSES[random.nextInt(STATUSES.length)];
+            room.setStatus(status);
+            room.setEndDate(status == RoomStatus.AVAILABLE ? null : TODAY.plusDays(random.nextInt(60)));
+            room.setDaysUnderStatus(random.nextInt(14));
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    static List<Service> services(int count) {
+        List<Service> services = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            services.add(new Service("S" + (i + 1), "Услуга " + (i + 1), 100 + i * 10, "Описание услуги " + (i + 1)));
+        }
+        return services;
+    }
+
+    static List<Guest> guests(int count) {
+        List<Guest> guests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Guest guest = new Guest("G" + (i + 1), "Имя" + i, "Фамилия" + i);
+            guest.setRoomNumber(i / 2 + 1);
+            guests.add(guest);
+        }
+        return guests;
+    }
+
+    static RoomWithGuestsDto roomWithGuests(int number, int guestCount) {
+        Room room = new Room(number, RoomType.STANDARD, 3500, guestCount);
+        room.markAsOccupied(TODAY, 3);
+
+        List<Guest> guests = new ArrayList<>(guestCount);
+        for (int i = 0; i < guestCount; i++) {
+            Guest guest = new Guest("G" + (number * 10 + i), "Имя" + i, "Фамилия" + i);
+            guest.setRoomNumber(number);
+            guests.add(guest);
+        }
+        return new RoomWithGuestsDto(room, guests);
+    }
+
+    static GuestWithServicesDto guestWithServices(List<Service> services, int usageCount) {
+        Guest guest = new Guest("G1", "Иван", "Петров");
+        guest.setRoomNumber(101);
+
+        List<GuestServiceUsage> usages = new ArrayList<>(usageCount);
+        for (int i = 0; i < usageCount; i++) {
+            usages.add(new GuestServiceUsage(services.get(i % services.size()), TODAY.plusDays(i), guest));
+        }
+        return new GuestWithServicesDto(guest, usages);
+    }
+}
@@ -0,0 +1,53 @@
+package hotel.benchmarks;
+
+import enums.RoomSort;
+import enums.SortDirection;
+import hotel.Room;
+import hotel.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomSortBenchmark {
+
+    @Param({"100", "10000"})
+    public int roomCount;
+
+    @Param({"PRICE", "CAPACITY", "TYPE"})
+    public RoomSort sortBy;
+
+    @Param({"ASC", "DESC"})
+    public SortDirection direction;
+
+    private RoomService roomService;
+    private List<Room> rooms;
+
+    @Setup
+    public void setUp() {
+        roomService = new RoomService(null, null, null, null, null, null, null, null, null);
+        rooms = Fixtures.rooms(roomCount, 42);
+    }
+
+    @Benchmark
+    public Map<Integer, Room> sortRooms() {
+        return roomService.sortRooms(rooms, sortBy, direction);
+    }
+}
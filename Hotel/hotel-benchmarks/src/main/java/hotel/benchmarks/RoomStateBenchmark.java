@@ -0,0 +1,55 @@
+package hotel.benchmarks;
+
+import enums.RoomType;
+import hotel.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomStateBenchmark {
+
+    private Room room;
+
+    @Setup
+    public void setUp() {
+        room = new Room(101, RoomType.STANDARD, 3500, 2);
+    }
+
+    @Benchmark
+    public void checkInCheckOut(Blackhole blackhole) {
+        blackhole.consume(room.canCheckIn(2));
+        room.markAsOccupied(Fixtures.TODAY, 3);
+        blackhole.consume(room.canCheckOut());
+        room.markAsAvailable();
+    }
+
+    @Benchmark
+    public void serviceCycle(Blackhole blackhole) {
+        blackhole.consume(room.setCleaning(Fixtures.TODAY));
+        blackhole.consume(room.setAvailable());
+        blackhole.consume(room.setUnderMaintenance(Fixtures.TODAY, 5));
+        blackhole.consume(room.setAvailable());
+    }
+
+    @Benchmark
+    public int calculateCost() {
+        room.setDaysUnderStatus(7);
+        return room.calculateCost();
+    }
+}
@@ -14,13 +14,14 @@ import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
         "hotel.controller",
         "hotel.dao",
         "hotel.service",
-        "hotel.mapper"
+        "hotel.mapper",
+        "hotel.metrics"
 })
 @PropertySources({
         @PropertySource("classpath:hotel.properties"),
         @PropertySource("classpath:database.properties")
 })
-@Import({JpaConfig.class, LiquibaseConfig.class, StateConfig.class})
+@Import({DataSourceConfig.class, JpaConfig.class, LiquibaseConfig.class, StateConfig.class})
 public class AppConfig {
 
     @Bean
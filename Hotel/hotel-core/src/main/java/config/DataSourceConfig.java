@@ -0,0 +1,102 @@
+package config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import enums.PoolType;
+import hotel.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${db.url}")
+    private String dbUrl;
+
+    @Value("${db.user}")
+    private String dbUser;
+
+    @Value("${db.password}")
+    private String dbPassword;
+
+    @Value("${db.driver}")
+    private String dbDriver;
+
+    @Value("${db.pool.oltp.max-size:20}")
+    private int oltpMaxSize;
+
+    @Value("${db.pool.oltp.min-idle:5}")
+    private int oltpMinIdle;
+
+    @Value("${db.pool.report.max-size:4}")
+    private int reportMaxSize;
+
+    @Value("${db.pool.report.min-idle:0}")
+    private int reportMinIdle;
+
+    @Value("${db.pool.connection-timeout-ms:30000}")
+    private long connectionTimeoutMs;
+
+    @Value("${db.pool.validation-timeout-ms:5000}")
+    private long validationTimeoutMs;
+
+    @Value("${db.pool.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    @Value("${db.pool.keepalive-ms:120000}")
+    private long keepaliveMs;
+
+    @Value("${db.pool.max-lifetime-ms:1800000}")
+    private long maxLifetimeMs;
+
+    private final MetricsRegistry metricsRegistry;
+
+    public DataSourceConfig(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource oltpDataSource() {
+        return createPool(PoolType.OLTP, oltpMaxSize, oltpMinIdle);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource reportDataSource() {
+        return createPool(PoolType.REPORT, reportMaxSize, reportMinIdle);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        RoutingDataSource dataSource = new RoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(
+                PoolType.OLTP, oltpDataSource(),
+                PoolType.REPORT, reportDataSource()
+        ));
+        dataSource.setDefaultTargetDataSource(oltpDataSource());
+        return dataSource;
+    }
+
+    private HikariDataSource createPool(PoolType poolType, int maxSize, int minIdle) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolType.getPoolName());
+        config.setDriverClassName(dbDriver);
+        config.setJdbcUrl(dbUrl);
+        config.setUsername(dbUser);
+        config.setPassword(dbPassword);
+        config.setMaximumPoolSize(maxSize);
+        config.setMinimumIdle(minIdle);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setValidationTimeout(validationTimeoutMs);
+        config.setIdleTimeout(idleTimeoutMs);
+        config.setKeepaliveTime(keepaliveMs);
+        config.setMaxLifetime(maxLifetimeMs);
+        config.setMetricsTrackerFactory(new PoolMetricsTrackerFactory(metricsRegistry));
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,24 @@
+package config;
+
+import enums.PoolType;
+
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<PoolType> CURRENT_POOL = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static PoolType current() {
+        PoolType pool = CURRENT_POOL.get();
+        return pool != null ? pool : PoolType.OLTP;
+    }
+
+    public static void use(PoolType pool) {
+        CURRENT_POOL.set(pool);
+    }
+
+    public static void clear() {
+        CURRENT_POOL.remove();
+    }
+}
@@ -1,6 +1,9 @@
 package config;
 
+import enums.PoolType;
+import hotel.metrics.MetricsRegistry;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SharedCacheMode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +14,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.Map;
 import java.util.Properties;
 
 @Configuration
@@ -26,12 +30,31 @@ public class JpaConfig {
     @Value("${hibernate.hbm2ddl.auto:none}")
     private String hbm2ddl;
 
+    @Value("${hibernate.cache.enabled:true}")
+    private String cacheEnabled;
+
+    @Value("${hibernate.cache.config:ehcache.xml}")
+    private String cacheConfig;
+
+    @Value("${hibernate.jdbc.batch_size:50}")
+    private String batchSize;
+
+    @Value("${db.pool.oltp.max-size:20}")
+    private int oltpMaxSize;
+
+    @Value("${db.pool.report.max-size:4}")
+    private int reportMaxSize;
+
+    @Value("${db.pool.permit-timeout-ms:30000}")
+    private long dbPermitTimeoutMs;
+
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
         em.setDataSource(dataSource);
         em.setPackagesToScan("hotel");
         em.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        em.setSharedCacheMode(SharedCacheMode.ENABLE_SELECTIVE);
         em.setJpaProperties(hibernateProperties());
         return em;
     }
@@ -41,12 +64,24 @@ public class JpaConfig {
         props.setProperty("hibernate.dialect", hibernateDialect);
         props.setProperty("hibernate.show_sql", showSql);
         props.setProperty("hibernate.hbm2ddl.auto", hbm2ddl);
+        props.setProperty("hibernate.cache.use_second_level_cache", cacheEnabled);
+        props.setProperty("hibernate.cache.region.factory_class", "jcache");
+        props.setProperty("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+        props.setProperty("hibernate.javax.cache.uri", "classpath:" + cacheConfig);
+        props.setProperty("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+        props.setProperty("hibernate.generate_statistics", "true");
+        props.setProperty("hibernate.jdbc.batch_size", batchSize);
+        props.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        props.setProperty("hibernate.order_inserts", "true");
+        props.setProperty("hibernate.order_updates", "true");
+        props.setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
         return props;
     }
 
     @Bean
-    public PlatformTransactionManager transactionManager(EntityManagerFactory emf) {
-        JpaTransactionManager tm = new JpaTransactionManager();
+    public PlatformTransactionManager transactionManager(EntityManagerFactory emf, MetricsRegistry metricsRegistry) {
+        JpaTransactionManager tm = new PermitJpaTransactionManager(metricsRegistry,
+                Map.of(PoolType.OLTP, oltpMaxSize, PoolType.REPORT, reportMaxSize), dbPermitTimeoutMs);
         tm.setEntityManagerFactory(emf);
         return tm;
     }
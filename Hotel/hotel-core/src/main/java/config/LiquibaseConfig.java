@@ -1,38 +1,14 @@
 package config;
 
 import liquibase.integration.spring.SpringLiquibase;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
 
 @Configuration
 public class LiquibaseConfig {
 
-    @Value("${db.url}")
-    private String dbUrl;
-
-    @Value("${db.user}")
-    private String dbUser;
-
-    @Value("${db.password}")
-    private String dbPassword;
-
-    @Value("${db.driver}")
-    private String dbDriver;
-
-    @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(dbDriver);
-        dataSource.setUrl(dbUrl);
-        dataSource.setUsername(dbUser);
-        dataSource.setPassword(dbPassword);
-        return dataSource;
-    }
-
     @Bean
     public SpringLiquibase liquibase(DataSource dataSource) {
         SpringLiquibase liquibase = new SpringLiquibase();
@@ -41,4 +17,4 @@ public class LiquibaseConfig {
         liquibase.setShouldRun(true);
         return liquibase;
     }
-}
\ No newline at end of file
+}
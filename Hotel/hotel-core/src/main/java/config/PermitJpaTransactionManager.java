@@ -0,0 +1,79 @@
+package config;
+
+import enums.PoolType;
+import hotel.metrics.LatencyHistogram;
+import hotel.metrics.MetricsRegistry;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничивает число одновременно открытых транзакций размером пула, в который их направляет
+ * {@link DataSourceRouting}. Чтение с SUPPORTS вне транзакции разрешение не берёт: такие запросы
+ * ограничиваются только таймаутом ожидания подключения в HikariCP.
+ */
+public class PermitJpaTransactionManager extends JpaTransactionManager {
+
+    private final Map<PoolType, Semaphore> permits = new EnumMap<>(PoolType.class);
+    private final Map<PoolType, LatencyHistogram> waitTimes = new EnumMap<>(PoolType.class);
+    private final Map<Object, Semaphore> heldPermits = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+
+    public PermitJpaTransactionManager(MetricsRegistry metricsRegistry, Map<PoolType, Integer> permitCounts, long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        for (PoolType pool : PoolType.values()) {
+            Semaphore poolPermits = new Semaphore(permitCounts.get(pool), true);
+            String poolName = pool.getPoolName();
+            permits.put(pool, poolPermits);
+            waitTimes.put(pool, metricsRegistry.histogram("db_permit_wait", "pool", poolName));
+            metricsRegistry.gauge("db_permits_available", poolPermits::availablePermits, "pool", poolName);
+            metricsRegistry.gauge("db_permits_queue", poolPermits::getQueueLength, "pool", poolName);
+        }
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        PoolType pool = DataSourceRouting.current();
+        Semaphore poolPermits = permits.get(pool);
+        acquire(pool, poolPermits);
+        try {
+            super.doBegin(transaction, definition);
+            heldPermits.put(transaction, poolPermits);
+        } catch (RuntimeException | Error e) {
+            poolPermits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            Semaphore poolPermits = heldPermits.remove(transaction);
+            if (poolPermits != null) {
+                poolPermits.release();
+            }
+        }
+    }
+
+    private void acquire(PoolType pool, Semaphore poolPermits) {
+        long startedAt = System.nanoTime();
+        try {
+            if (!poolPermits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new CannotCreateTransactionException("Нет свободных подключений в пуле " + pool.getPoolName() + " за " + timeoutMs + " мс");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotCreateTransactionException("Ожидание подключения к базе данных прервано", e);
+        } finally {
+            waitTimes.get(pool).record(System.nanoTime() - startedAt);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import hotel.metrics.LatencyHistogram;
+import hotel.metrics.MetricsRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final MetricsRegistry metricsRegistry;
+
+    public PoolMetricsTrackerFactory(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        metricsRegistry.gauge("db_pool_active", poolStats::getActiveConnections, "pool", poolName);
+        metricsRegistry.gauge("db_pool_idle", poolStats::getIdleConnections, "pool", poolName);
+        metricsRegistry.gauge("db_pool_waiting", poolStats::getPendingThreads, "pool", poolName);
+        metricsRegistry.gauge("db_pool_total", poolStats::getTotalConnections, "pool", poolName);
+        metricsRegistry.gauge("db_pool_max", poolStats::getMaxConnections, "pool", poolName);
+
+        LatencyHistogram acquireTime = metricsRegistry.histogram("db_pool_acquire", "pool", poolName);
+        LatencyHistogram usageTime = metricsRegistry.histogram("db_pool_usage", "pool", poolName);
+        LongAdder timeouts = metricsRegistry.counter("db_pool_timeouts", "pool", poolName);
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireTime.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageTime.recordMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+}
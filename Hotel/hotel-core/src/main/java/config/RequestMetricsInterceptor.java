@@ -0,0 +1,42 @@
+package config;
+
+import hotel.metrics.MetricsRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".startedAt";
+    private static final String UNMATCHED_PATTERN = "unmatched";
+
+    private final MetricsRegistry metricsRegistry;
+
+    public RequestMetricsInterceptor(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(STARTED_AT_ATTRIBUTE) instanceof Long startedAt)) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED_PATTERN;
+        String status = String.valueOf(ex != null && response.getStatus() < 400 ? 500 : response.getStatus());
+
+        metricsRegistry.histogram("http_request_latency", "method", request.getMethod(), "uri", uri, "status", status)
+                .record(System.nanoTime() - startedAt);
+        if (ex != null || response.getStatus() >= 500) {
+            metricsRegistry.counter("http_request_errors", "method", request.getMethod(), "uri", uri).increment();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package config;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class VirtualThreadDispatcherServlet extends DispatcherServlet {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadDispatcherServlet.class);
+
+    private static final String VIRTUAL_MODE = "virtual";
+
+    private ExecutorService executor;
+    private long asyncTimeoutMs;
+
+    public VirtualThreadDispatcherServlet(WebApplicationContext webApplicationContext) {
+        super(webApplicationContext);
+    }
+
+    @Override
+    protected void initFrameworkServlet() throws ServletException {
+        super.initFrameworkServlet();
+
+        Environment environment = getWebApplicationContext().getEnvironment();
+        String mode = environment.getProperty("hotel.execution.mode", "platform");
+        asyncTimeoutMs = environment.getProperty("hotel.execution.async-timeout-ms", Long.class, 300000L);
+
+        if (VIRTUAL_MODE.equalsIgnoreCase(mode)) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory());
+        }
+        logger.info("Режим выполнения запросов: {}", executor != null ? VIRTUAL_MODE : "platform");
+    }
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        if (executor == null || !request.isAsyncSupported()) {
+            super.service(request, response);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(asyncTimeoutMs);
+        AsyncDispatch asyncDispatch = new AsyncDispatch(asyncContext, request.getMethod() + " " + request.getRequestURI());
+        asyncContext.addListener(asyncDispatch);
+        executor.execute(() -> dispatch(asyncDispatch, request, response));
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        super.destroy();
+    }
+
+    private void dispatch(AsyncDispatch asyncDispatch, HttpServletRequest request, HttpServletResponse response) {
+        if (!asyncDispatch.begin()) {
+            return;
+        }
+
+        try {
+            super.service(request, response);
+        } catch (Exception e) {
+            if (asyncDispatch.isAbandoned()) {
+                logger.warn("Запрос {} {} прерван после истечения времени ожидания", request.getMethod(), request.getRequestURI());
+                return;
+            }
+            logger.error("Ошибка обработки запроса {} {}", request.getMethod(), request.getRequestURI(), e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        } finally {
+            asyncDispatch.end();
+        }
+    }
+
+    private static final class AsyncDispatch implements AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final String description;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean abandoned;
+        private volatile Thread worker;
+
+        private AsyncDispatch(AsyncContext asyncContext, String description) {
+            this.asyncContext = asyncContext;
+            this.description = description;
+        }
+
+        private boolean begin() {
+            worker = Thread.currentThread();
+            return !finished.get();
+        }
+
+        private void end() {
+            worker = null;
+            if (finished.compareAndSet(false, true)) {
+                asyncContext.complete();
+            }
+        }
+
+        private boolean isAbandoned() {
+            return abandoned;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            if (!abandon()) {
+                return;
+            }
+            logger.warn("Запрос {} не завершён за отведённое время, ответ 503", description);
+            HttpServletResponse response = (HttpServletResponse) event.getAsyncContext().getResponse();
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+            event.getAsyncContext().complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (abandon()) {
+                logger.warn("Запрос {} прерван контейнером", description, event.getThrowable());
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finished.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private boolean abandon() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            abandoned = true;
+            Thread current = worker;
+            if (current != null) {
+                current.interrupt();
+            }
+            return true;
+        }
+    }
+}
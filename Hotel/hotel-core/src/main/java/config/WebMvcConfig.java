@@ -3,14 +3,17 @@ package config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import hotel.metrics.MetricsRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -20,6 +23,12 @@ import java.util.List;
 @ComponentScan(basePackages = "hotel.controller")
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final MetricsRegistry metricsRegistry;
+
+    public WebMvcConfig(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -30,6 +39,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ByteArrayHttpMessageConverter());
+
         MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter();
         jsonConverter.setObjectMapper(objectMapper());
         converters.add(jsonConverter);
@@ -46,4 +57,13 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .mediaType("json", org.springframework.http.MediaType.APPLICATION_JSON)
                 .mediaType("xml", org.springframework.http.MediaType.APPLICATION_XML);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(metricsRegistry))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/metrics", "/api/metrics/**");
+        registry.addInterceptor(new ReportPoolInterceptor())
+                .addPathPatterns("/api/*/export");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package enums;
+
+public enum PoolType {
+
+    OLTP("hotel-oltp"),
+    REPORT("hotel-report");
+
+    private final String poolName;
+
+    PoolType(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+}
@@ -0,0 +1,17 @@
+package enums;
+
+public enum ResourceFamily {
+
+    ROOMS("rooms"),
+    SERVICES("services");
+
+    private final String tag;
+
+    ResourceFamily(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
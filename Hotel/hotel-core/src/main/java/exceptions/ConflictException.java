@@ -0,0 +1,12 @@
+package exceptions;
+
+public class ConflictException extends HotelException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,27 +2,35 @@ package hotel;
 
 import exceptions.ImportExportException;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class CSVService {
 
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     public static <T> void exportToCSV(List<T> entities, String filePath, CSVConverter<T> converter) {
+        try (CSVWriter<T> writer = openWriter(filePath, converter)) {
+            for (T entity : entities) {
+                writer.write(entity);
+            }
+        }
+    }
+
+    public static <T> CSVWriter<T> openWriter(String filePath, CSVConverter<T> converter) {
         try {
             File file = getFile(filePath);
-
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
-                writer.println(converter.getHeaders());
-
-                for (T entity : entities) {
-                    writer.println(converter.toCSV(entity));
-                }
-            }
+            BufferedWriter writer = new BufferedWriter(new FileWriter(file), WRITE_BUFFER_SIZE);
+            CSVWriter<T> csvWriter = new CSVWriter<>(writer, converter);
+            csvWriter.writeLine(converter.getHeaders());
+            return csvWriter;
         } catch (IOException e) {
             throw new ImportExportException("Ошибка при экспорте в CSV: " + e.getMessage(), e);
         }
@@ -48,17 +56,76 @@ public class CSVService {
     }
 
     public static <T> List<T> importFromCSV(String filePath, CSVConverter<T> converter) {
+        return importFromCSV(filePath, converter::fromCSV);
+    }
+
+    public static <T> List<T> importFromCSV(String filePath, Function<String, T> parser) {
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             reader.readLine();
 
             return reader.lines()
-                    .map(converter::fromCSV)
+                    .map(parser)
                     .toList();
         } catch (IOException e) {
             throw new ImportExportException("Ошибка при импорте из CSV: " + e.getMessage(), e);
         }
     }
 
+    public static <T> int forEachFromCSV(String filePath, Function<String, T> parser, Consumer<T> consumer) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            reader.readLine();
+
+            int lines = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(parser.apply(line));
+                lines++;
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new ImportExportException("Ошибка при импорте из CSV: " + e.getMessage(), e);
+        }
+    }
+
+    public static final class CSVWriter<T> implements AutoCloseable {
+
+        private final BufferedWriter writer;
+        private final CSVConverter<T> converter;
+        private int written;
+
+        private CSVWriter(BufferedWriter writer, CSVConverter<T> converter) {
+            this.writer = writer;
+            this.converter = converter;
+        }
+
+        public void write(T entity) {
+            writeLine(converter.toCSV(entity));
+            written++;
+        }
+
+        public int getWritten() {
+            return written;
+        }
+
+        private void writeLine(String line) {
+            try {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                throw new ImportExportException("Ошибка при экспорте в CSV: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new ImportExportException("Ошибка при экспорте в CSV: " + e.getMessage(), e);
+            }
+        }
+    }
+
     public interface CSVConverter<T> {
         String getHeaders();
         String toCSV(T entity);
@@ -14,7 +14,7 @@ public class Guest implements Serializable {
     private static final long serialVersionUID = 0002L;
 
     @Id
-    @Column(name = "id", insertable = false)
+    @Column(name = "id", nullable = false)
     private String id;
     @Column(name = "firstname", nullable = false)
     private String firstname;
@@ -1,5 +1,6 @@
 package hotel;
 
+import exceptions.DaoException;
 import hotel.dto.GuestWithServicesDto;
 import hotel.service.ServiceService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +9,8 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
@@ -43,6 +46,20 @@ public class GuestCSVConverter implements CSVService.CSVConverter<GuestWithServi
 
     @Override
     public GuestWithServicesDto fromCSV(String csvLine) {
+        return fromCSV(csvLine, serviceService::getServiceById);
+    }
+
+    public GuestWithServicesDto fromCSV(String csvLine, Map<String, Service> services) {
+        return fromCSV(csvLine, serviceId -> {
+            Service service = services.get(serviceId);
+            if (service == null) {
+                throw new DaoException("Услуга не найдена: " + serviceId);
+            }
+            return service;
+        });
+    }
+
+    private GuestWithServicesDto fromCSV(String csvLine, Function<String, Service> serviceLookup) {
         String[] parts = csvLine.split(",", -1);
         String id = parts[0];
         String firstName = parts[1];
@@ -62,11 +79,8 @@ public class GuestCSVConverter implements CSVService.CSVConverter<GuestWithServi
                     String serviceId = serviceData[0];
                     LocalDate usageDate = LocalDate.parse(serviceData[1]);
 
-                    Service service = serviceService.getServiceById(serviceId);
-                    if (service != null) {
-                        GuestServiceUsage usage = new GuestServiceUsage(service, usageDate, guest);
-                        usages.add(usage);
-                    }
+                    Service service = serviceLookup.apply(serviceId);
+                    usages.add(new GuestServiceUsage(service, usageDate, guest));
                 }
             }
         }
@@ -6,6 +6,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Table;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
@@ -21,7 +22,8 @@ public class GuestServiceUsage implements Serializable {
     private static final long serialVersionUID = 00011L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guest_service_usage_seq")
+    @SequenceGenerator(name = "guest_service_usage_seq", sequenceName = "guest_service_usage_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private int id;
 
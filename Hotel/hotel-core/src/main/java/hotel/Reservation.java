@@ -0,0 +1,69 @@
+package hotel;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "reservations")
+public class Reservation implements Serializable {
+
+    private static final long serialVersionUID = 0007L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private int id;
+
+    @Column(name = "room_number", nullable = false)
+    private int roomNumber;
+
+    @Column(name = "guest_name", nullable = false)
+    private String guestName;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    public Reservation() {  }
+
+    public Reservation(int roomNumber, String guestName, LocalDate startDate, LocalDate endDate) {
+        this.roomNumber = roomNumber;
+        this.guestName = guestName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getRoomNumber() {
+        return roomNumber;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    @Override
+    public String toString() {
+        return "Бронь " + id + ": комната " + roomNumber + ", " + guestName + " [" + startDate + " - " + endDate + ")";
+    }
+}
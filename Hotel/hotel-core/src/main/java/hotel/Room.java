@@ -2,18 +2,24 @@ package hotel;
 
 import enums.RoomStatus;
 import enums.RoomType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "rooms")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
 public class Room implements Serializable {
 
     private static final long serialVersionUID = 0003L;
@@ -42,6 +48,10 @@ public class Room implements Serializable {
     @Column(name = "days_under_status", nullable = false)
     private int daysUnderStatus;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Room() {  }
 
     public Room(int number, RoomType type, int price, int capacity) {
@@ -82,6 +92,14 @@ public class Room implements Serializable {
         return daysUnderStatus;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public int calculateCost() {
         return daysUnderStatus * price;
     }
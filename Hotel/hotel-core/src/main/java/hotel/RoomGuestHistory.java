@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
@@ -16,7 +17,8 @@ public class RoomGuestHistory implements Serializable {
     private static final long serialVersionUID = 0006L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_guest_history_seq")
+    @SequenceGenerator(name = "room_guest_history_seq", sequenceName = "room_guest_history_id_seq", allocationSize = 50)
     @Column(name = "id")
     private int id;
 
@@ -68,6 +70,10 @@ public class RoomGuestHistory implements Serializable {
         return firstname + " " + lastname;
     }
 
+    public int getGroupId() {
+        return groupId;
+    }
+
     public int getRoomNumber() {
         return roomNumber;
     }
@@ -1,14 +1,19 @@
 package hotel;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 
 @Entity
 @Table(name = "services")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "services")
 public class Service implements Serializable {
 
     private static final long serialVersionUID = 0004L;
@@ -0,0 +1,127 @@
+package hotel.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import enums.ResourceFamily;
+import hotel.metrics.MetricsRegistry;
+import hotel.service.ResourceVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class CatalogResponseCache {
+
+    private final ResourceVersions versions;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper xmlMapper;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder notModified;
+
+    @Value("${catalog.cache.max-entries:256}")
+    private int maxEntries;
+
+    @Autowired
+    public CatalogResponseCache(ResourceVersions versions, MetricsRegistry metricsRegistry, ObjectMapper objectMapper) {
+        this.versions = versions;
+        this.jsonMapper = objectMapper;
+        this.xmlMapper = new MappingJackson2XmlHttpMessageConverter().getObjectMapper();
+        this.hits = metricsRegistry.counter("catalog_cache_hits");
+        this.misses = metricsRegistry.counter("catalog_cache_misses");
+        this.notModified = metricsRegistry.counter("catalog_not_modified");
+        metricsRegistry.gauge("catalog_cache_entries", entries::size);
+    }
+
+    public ResponseEntity<byte[]> respond(ResourceFamily family, ServletWebRequest request, Supplier<Object> body) {
+        long version = versions.current(family);
+        MediaType mediaType = negotiate(request);
+        String eTag = "\"" + family.getTag() + "-" + version + "-" + mediaType.getSubtype() + "\"";
+
+        if (request.checkNotModified(eTag)) {
+            notModified.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        String key = family.getTag() + ' ' + mediaType.getSubtype() + ' ' + requestKey(request.getRequest());
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return toResponse(cached, eTag);
+        }
+
+        misses.increment();
+        CachedResponse fresh = new CachedResponse(version, mediaType, serialize(body.get(), mediaType));
+        if (versions.current(family) == version) {
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+            entries.put(key, fresh);
+        }
+        return toResponse(fresh, eTag);
+    }
+
+    private ResponseEntity<byte[]> toResponse(CachedResponse response, String eTag) {
+        return ResponseEntity.ok()
+                .contentType(response.mediaType())
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response.body());
+    }
+
+    private byte[] serialize(Object body, MediaType mediaType) {
+        try {
+            ObjectMapper mapper = MediaType.APPLICATION_XML.equals(mediaType) ? xmlMapper : jsonMapper;
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Ошибка сериализации ответа", e);
+        }
+    }
+
+    private MediaType negotiate(ServletWebRequest request) {
+        String format = request.getParameter("format");
+        if (format != null) {
+            return "xml".equalsIgnoreCase(format) ? MediaType.APPLICATION_XML : MediaType.APPLICATION_JSON;
+        }
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.isWildcardType()) {
+                    break;
+                }
+                if (MediaType.APPLICATION_XML.isCompatibleWith(type) || MediaType.TEXT_XML.isCompatibleWith(type)) {
+                    return MediaType.APPLICATION_XML;
+                }
+                if (MediaType.APPLICATION_JSON.isCompatibleWith(type)) {
+                    break;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static String requestKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? request.getRequestURI() + '?' + query : request.getRequestURI();
+    }
+
+    private record CachedResponse(long version, MediaType mediaType, byte[] body) {
+    }
+}
@@ -3,9 +3,13 @@ package hotel.controller;
 import enums.GuestSort;
 import enums.UsageServiceSort;
 import enums.SortDirection;
+import exceptions.ValidationException;
 import hotel.Guest;
 import hotel.GuestServiceUsage;
 import hotel.dto.GuestDto;
+import hotel.dto.ImportReport;
+import hotel.dto.PageDto;
+import hotel.dto.ServiceUsageDto;
 import hotel.mapper.DtoMapper;
 import hotel.service.GuestService;
 import hotel.service.ImportExportService;
@@ -38,11 +42,16 @@ public class GuestController {
     }
 
     @GetMapping
-    public List<?> getGuests(@RequestParam(required = false) GuestSort sortBy, @RequestParam(required = false) SortDirection direction) {
+    public Object getGuests(@RequestParam(required = false) GuestSort sortBy, @RequestParam(required = false) SortDirection direction,
+                            @RequestParam(required = false) Integer limit, @RequestParam(required = false) String after) {
+        if (limit != null) {
+            List<GuestDto> guests = guestService.getGuestDtosPage(after, PageParams.validateLimit(limit));
+            return PageDto.of(guests, limit, GuestDto::getId);
+        }
         if (sortBy != null) {
             return guestService.getSortedGuests(sortBy, direction);
         }
-        return dtoMapper.toGuestDtoList(guestService.getAllGuests());
+        return guestService.getGuestDtos();
     }
 
     @GetMapping("/{guestId}")
@@ -57,7 +66,15 @@ public class GuestController {
     }
 
     @GetMapping("/{guestId}/services")
-    public List<GuestServiceUsage> getServiceUsage(@PathVariable String guestId, @RequestParam UsageServiceSort sortBy, @RequestParam SortDirection direction) {
+    public Object getServiceUsage(@PathVariable String guestId, @RequestParam(required = false) UsageServiceSort sortBy, @RequestParam(required = false) SortDirection direction,
+                                  @RequestParam(required = false) Integer limit, @RequestParam(required = false) Integer after) {
+        if (limit != null) {
+            List<ServiceUsageDto> usages = guestService.getGuestServicesPage(guestId, after, PageParams.validateLimit(limit));
+            return PageDto.of(usages, limit, ServiceUsageDto::id);
+        }
+        if (sortBy == null) {
+            throw new ValidationException("Не указан параметр сортировки sortBy");
+        }
         return guestService.getGuestServiceUsageList(guestId, sortBy, direction);
     }
 
@@ -69,10 +86,13 @@ public class GuestController {
 
     @PostMapping("/import")
     public ResponseEntity<Map<String, Object>> importGuests(@RequestBody Map<String, String> body) {
-        int count = importExportService.importGuests(body.get("filePath"));
+        ImportReport report = importExportService.importGuests(body.get("filePath"));
         return ResponseEntity.ok(Map.of(
                 "message", "Гости импортированы",
-                "count", count
+                "count", report.imported(),
+                "chunks", report.chunks(),
+                "elapsedMs", report.elapsedMs(),
+                "rowsPerSecond", report.rowsPerSecond()
         ));
     }
 
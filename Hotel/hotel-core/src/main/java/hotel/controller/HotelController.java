@@ -1,7 +1,9 @@
 package hotel.controller;
 
+import hotel.dto.EndOfDayReport;
 import hotel.service.HotelServiceFacade;
 import hotel.service.HotelState;
+import hotel.service.OccupancyStatistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,11 +20,13 @@ public class HotelController {
 
     private final HotelState hotelState;
     private final HotelServiceFacade hotelService;
+    private final OccupancyStatistics statistics;
 
     @Autowired
-    public HotelController(HotelState hotelState, HotelServiceFacade hotelService) {
+    public HotelController(HotelState hotelState, HotelServiceFacade hotelService, OccupancyStatistics statistics) {
         this.hotelState = hotelState;
         this.hotelService = hotelService;
+        this.statistics = statistics;
     }
 
     @GetMapping("/date")
@@ -30,10 +34,18 @@ public class HotelController {
         return Map.of("currentDay", hotelState.getCurrentDay());
     }
 
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return statistics.snapshot();
+    }
+
     @PostMapping("/next-day")
-    public Map<String, LocalDate> nextDay() {
-        LocalDate newDay = hotelService.nextDay();
-        return Map.of("currentDay", newDay);
+    public Map<String, Object> nextDay() {
+        EndOfDayReport report = hotelService.nextDay();
+        return Map.of(
+                "currentDay", report.day(),
+                "endOfDay", report
+        );
     }
 
     @PostMapping("/save")
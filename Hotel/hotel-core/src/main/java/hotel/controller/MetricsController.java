@@ -0,0 +1,39 @@
+package hotel.controller;
+
+import hotel.metrics.MetricsRegistry;
+import hotel.metrics.PrometheusExporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+    private final PrometheusExporter prometheusExporter;
+
+    @Autowired
+    public MetricsController(MetricsRegistry metricsRegistry, PrometheusExporter prometheusExporter) {
+        this.metricsRegistry = metricsRegistry;
+        this.prometheusExporter = prometheusExporter;
+    }
+
+    @GetMapping
+    public ResponseEntity<byte[]> scrape() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, PrometheusExporter.CONTENT_TYPE)
+                .body(prometheusExporter.scrape().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @GetMapping("/summary")
+    public Map<String, Object> getMetrics() {
+        return metricsRegistry.snapshot();
+    }
+}
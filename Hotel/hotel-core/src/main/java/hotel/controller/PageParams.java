@@ -0,0 +1,18 @@
+package hotel.controller;
+
+import exceptions.ValidationException;
+
+final class PageParams {
+
+    static final int MAX_LIMIT = 1000;
+
+    private PageParams() {
+    }
+
+    static int validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Параметр limit должен быть от 1 до " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
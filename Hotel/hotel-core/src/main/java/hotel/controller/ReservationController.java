@@ -0,0 +1,91 @@
+package hotel.controller;
+
+import enums.RoomType;
+import hotel.Guest;
+import hotel.Reservation;
+import hotel.dto.GuestRequest;
+import hotel.dto.ReservationRequest;
+import hotel.dto.RoomDto;
+import hotel.mapper.DtoMapper;
+import hotel.service.HotelServiceFacade;
+import hotel.service.ReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+    private final HotelServiceFacade hotelFacade;
+    private final DtoMapper dtoMapper;
+
+    @Autowired
+    public ReservationController(ReservationService reservationService, HotelServiceFacade hotelFacade, DtoMapper dtoMapper) {
+        this.reservationService = reservationService;
+        this.hotelFacade = hotelFacade;
+        this.dtoMapper = dtoMapper;
+    }
+
+    @PostMapping
+    public Reservation reserve(@RequestBody ReservationRequest request) {
+        return reservationService.reserve(request.getRoomNumber(), request.getGuestName(), request.getFrom(), request.getTo());
+    }
+
+    @GetMapping("/{id}")
+    public Reservation getReservation(@PathVariable int id) {
+        return reservationService.getReservation(id);
+    }
+
+    @GetMapping
+    public List<Reservation> getRoomReservations(@RequestParam int roomNumber,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return reservationService.getRoomReservations(roomNumber, from, to);
+    }
+
+    @GetMapping("/free-rooms")
+    public List<RoomDto> getFreeRooms(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                      @RequestParam(required = false) RoomType type,
+                                      @RequestParam(defaultValue = "1") int capacity) {
+        return reservationService.getFreeRooms(from, to, type, capacity).stream()
+                .map(dtoMapper::toRoomDto)
+                .toList();
+    }
+
+    @PostMapping("/{id}/checkIn")
+    public ResponseEntity<Map<String, Object>> checkIn(@PathVariable int id, @RequestBody List<GuestRequest> guestRequests) {
+        List<Guest> guests = guestRequests.stream()
+                .map(dtoMapper::requestToGuest).toList();
+
+        List<Guest> checkedIn = hotelFacade.checkInReservation(id, guests);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", !checkedIn.isEmpty());
+        response.put("reservationId", id);
+        response.put("guests", dtoMapper.toGuestDtoList(checkedIn));
+
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> cancel(@PathVariable int id) {
+        reservationService.cancel(id);
+        return ResponseEntity.ok(Map.of("message", "Бронь отменена"));
+    }
+}
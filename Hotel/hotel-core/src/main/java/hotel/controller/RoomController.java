@@ -1,11 +1,13 @@
 package hotel.controller;
 
+import enums.ResourceFamily;
 import enums.RoomSort;
 import enums.SortDirection;
 import hotel.Guest;
 import hotel.Room;
 import hotel.RoomGuestHistory;
 import hotel.dto.CheckInRequest;
+import hotel.dto.PageDto;
 import hotel.dto.RoomDto;
 import hotel.mapper.DtoMapper;
 import hotel.service.GuestService;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -39,39 +42,30 @@ public class RoomController {
     private final DtoMapper dtoMapper;
     private final HotelServiceFacade hotelFacade;
     private final ImportExportService importExportService;
+    private final CatalogResponseCache responseCache;
 
 
     @Autowired
-    public RoomController(RoomService roomService, DtoMapper dtoMapper, HotelServiceFacade hotelFacade, GuestService guestService, ImportExportService importExportService) {
+    public RoomController(RoomService roomService, DtoMapper dtoMapper, HotelServiceFacade hotelFacade, GuestService guestService, ImportExportService importExportService, CatalogResponseCache responseCache) {
         this.roomService = roomService;
         this.dtoMapper = dtoMapper;
         this.hotelFacade = hotelFacade;
         this.guestService = guestService;
         this.importExportService = importExportService;
+        this.responseCache = responseCache;
     }
 
     @GetMapping
-    public List<?> getAllRooms(@RequestParam(required = false) RoomSort sortBy, @RequestParam(required = false) SortDirection direction) {
-        List<?> rooms;
-        if (sortBy != null) {
-            rooms = hotelFacade.getSortedRooms(sortBy, direction);
-        } else {
-            rooms = roomService.getAllRooms();
-        }
-
-        return rooms;
+    public ResponseEntity<byte[]> getAllRooms(@RequestParam(required = false) RoomSort sortBy, @RequestParam(required = false) SortDirection direction,
+                                              @RequestParam(required = false) Integer limit, @RequestParam(required = false) Integer after,
+                                              ServletWebRequest request) {
+        return responseCache.respond(ResourceFamily.ROOMS, request, () -> findRooms(sortBy, direction, limit, after));
     }
 
     @GetMapping("/available")
-    public List<?> getAvailableRooms(@RequestParam(required = false) RoomSort sortBy, @RequestParam(required = false) SortDirection direction) {
-        List<?> rooms;
-        if (sortBy != null) {
-            rooms = hotelFacade.getSortedAvailableRooms(sortBy, direction);
-        } else {
-            rooms = roomService.getAvailableRooms();
-        }
-
-        return rooms;
+    public ResponseEntity<byte[]> getAvailableRooms(@RequestParam(required = false) RoomSort sortBy, @RequestParam(required = false) SortDirection direction,
+                                                    ServletWebRequest request) {
+        return responseCache.respond(ResourceFamily.ROOMS, request, () -> findAvailableRooms(sortBy, direction));
     }
 
     @GetMapping("/available/by-date")
@@ -80,9 +74,15 @@ public class RoomController {
         return dtoMapper.toRoomDtoMap(rooms);
     }
 
+    @GetMapping("/available/by-range")
+    public Map<Integer, RoomDto> getAvailableRoomsBetween(@RequestParam int fromDays, @RequestParam int toDays) {
+        Map<Integer, Room> rooms = roomService.getAvailableRoomsBetween(fromDays, toDays);
+        return dtoMapper.toRoomDtoMap(rooms);
+    }
+
     @GetMapping("/available/count")
     public int getAvailableRoomsCount() {
-        return roomService.getAvailableRooms().size();
+        return roomService.getAvailableRoomsCount();
     }
 
     @GetMapping("/information/{roomNumber}")
@@ -184,4 +184,31 @@ public class RoomController {
                 "message", "Комнаты экспортированы"
         ));
     }
+
+    private Object findRooms(RoomSort sortBy, SortDirection direction, Integer limit, Integer after) {
+        if (limit != null) {
+            List<RoomDto> page = roomService.getRoomDtosPage(after, PageParams.validateLimit(limit));
+            return PageDto.of(page, limit, RoomDto::getNumber);
+        }
+
+        List<?> rooms;
+        if (sortBy != null) {
+            rooms = hotelFacade.getSortedRooms(sortBy, direction);
+        } else {
+            rooms = roomService.getRoomDtos();
+        }
+
+        return rooms;
+    }
+
+    private List<?> findAvailableRooms(RoomSort sortBy, SortDirection direction) {
+        List<?> rooms;
+        if (sortBy != null) {
+            rooms = hotelFacade.getSortedAvailableRooms(sortBy, direction);
+        } else {
+            rooms = roomService.getAvailableRoomDtos();
+        }
+
+        return rooms;
+    }
 }
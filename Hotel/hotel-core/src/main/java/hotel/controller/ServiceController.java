@@ -1,14 +1,17 @@
 package hotel.controller;
 
+import enums.ResourceFamily;
 import enums.ServiceSort;
 import enums.SortDirection;
 import hotel.Service;
+import hotel.dto.PageDto;
 import hotel.dto.ServiceDto;
 import hotel.mapper.DtoMapper;
 import hotel.service.ImportExportService;
 import hotel.service.ServiceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,20 +31,21 @@ public class ServiceController {
     private final DtoMapper dtoMapper;
     private final ServiceService serviceService;
     private final ImportExportService importExportService;
+    private final CatalogResponseCache responseCache;
 
     @Autowired
-    public ServiceController(DtoMapper dtoMapper, ServiceService serviceService, ImportExportService importExportService) {
+    public ServiceController(DtoMapper dtoMapper, ServiceService serviceService, ImportExportService importExportService, CatalogResponseCache responseCache) {
         this.dtoMapper = dtoMapper;
         this.serviceService = serviceService;
         this.importExportService = importExportService;
+        this.responseCache = responseCache;
     }
 
     @GetMapping
-    public List<?> getServices(@RequestParam(required = false) ServiceSort sortBy, @RequestParam(required = false) SortDirection direction) {
-        if (sortBy != null) {
-            return dtoMapper.toServiceDtoList(serviceService.getSortedServices(sortBy, direction));
-        }
-        return dtoMapper.toServiceDtoList(serviceService.getAllServices());
+    public ResponseEntity<byte[]> getServices(@RequestParam(required = false) ServiceSort sortBy, @RequestParam(required = false) SortDirection direction,
+                                              @RequestParam(required = false) Integer limit, @RequestParam(required = false) String after,
+                                              ServletWebRequest request) {
+        return responseCache.respond(ResourceFamily.SERVICES, request, () -> findServices(sortBy, direction, limit, after));
     }
 
     @PostMapping
@@ -75,4 +79,15 @@ public class ServiceController {
                 "message", "Услуги экспортированы"
         ));
     }
+
+    private Object findServices(ServiceSort sortBy, SortDirection direction, Integer limit, String after) {
+        if (limit != null) {
+            List<ServiceDto> services = dtoMapper.toServiceDtoList(serviceService.getServicesPage(after, PageParams.validateLimit(limit)));
+            return PageDto.of(services, limit, ServiceDto::getId);
+        }
+        if (sortBy != null) {
+            return dtoMapper.toServiceDtoList(serviceService.getSortedServices(sortBy, direction));
+        }
+        return dtoMapper.toServiceDtoList(serviceService.getAllServices());
+    }
 }
@@ -1,17 +1,27 @@
 package hotel.dao;
 
 import exceptions.DaoException;
+import hotel.metrics.MetricsRegistry;
+import hotel.metrics.OperationTimer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.FlushMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public abstract class AbstractJpaDao<T, K> implements GenericDao<T, K> {
 
@@ -19,6 +29,8 @@ public abstract class AbstractJpaDao<T, K> implements GenericDao<T, K> {
 
     protected static final String ERROR_FIND_BY_ID = "Ошибка поиска по ID: ";
     protected static final String ERROR_FIND_ALL = "Ошибка получения всех записей";
+    protected static final String ERROR_FIND_PAGE = "Ошибка постраничного получения записей после: ";
+    protected static final String ERROR_STREAM = "Ошибка потокового чтения записей";
     protected static final String ERROR_SAVE = "Ошибка сохранения сущности";
     protected static final String ERROR_UPDATE = "Ошибка обновления сущности";
     protected static final String ERROR_DELETE = "Ошибка удаления сущности: ";
@@ -27,95 +39,182 @@ public abstract class AbstractJpaDao<T, K> implements GenericDao<T, K> {
     @PersistenceContext
     protected EntityManager entityManager;
 
+    private OperationTimer operationTimer;
+
     protected AbstractJpaDao() {
     }
 
+    @Autowired
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.operationTimer = new OperationTimer(metricsRegistry, "dao", "entity", getEntityClass().getSimpleName());
+    }
+
     protected abstract Class<T> getEntityClass();
 
+    protected String getIdAttribute() {
+        return "id";
+    }
+
     protected EntityManager getEntityManager() {
         return entityManager;
     }
 
     @Override
     public Optional<T> findById(K id) {
-        try {
-            T entity = entityManager.find(getEntityClass(), id);
-            return Optional.ofNullable(entity);
-        } catch (Exception e) {
-            logger.error(ERROR_FIND_BY_ID + id, e);
-            throw new DaoException(ERROR_FIND_BY_ID + id, e);
-        }
+        return timed("findById", () -> {
+            try {
+                T entity = entityManager.find(getEntityClass(), id);
+                return Optional.ofNullable(entity);
+            } catch (Exception e) {
+                logger.error(ERROR_FIND_BY_ID + id, e);
+                throw new DaoException(ERROR_FIND_BY_ID + id, e);
+            }
+        });
     }
 
     @Override
     public List<T> findAll() {
-        try {
-            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-            CriteriaQuery<T> query = cb.createQuery(getEntityClass());
-            Root<T> root = query.from(getEntityClass());
-            query.select(root);
-            return entityManager.createQuery(query).getResultList();
-        } catch (Exception e) {
-            logger.error(ERROR_FIND_ALL, e);
-            throw new DaoException(ERROR_FIND_ALL, e);
-        }
+        return timed("findAll", () -> {
+            try {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<T> query = cb.createQuery(getEntityClass());
+                Root<T> root = query.from(getEntityClass());
+                query.select(root);
+                return entityManager.createQuery(query).getResultList();
+            } catch (Exception e) {
+                logger.error(ERROR_FIND_ALL, e);
+                throw new DaoException(ERROR_FIND_ALL, e);
+            }
+        });
+    }
+
+    @Override
+    public List<T> findPage(K after, int limit) {
+        return timed("findPage", () -> {
+            try {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<T> query = cb.createQuery(getEntityClass());
+                Root<T> root = query.from(getEntityClass());
+                Path<Comparable<Object>> id = root.get(getIdAttribute());
+                query.select(root);
+                if (after != null) {
+                    query.where(cb.greaterThan(id, asComparable(after)));
+                }
+                query.orderBy(cb.asc(id));
+                return entityManager.createQuery(query)
+                        .setMaxResults(limit)
+                        .getResultList();
+            } catch (Exception e) {
+                logger.error(ERROR_FIND_PAGE + after, e);
+                throw new DaoException(ERROR_FIND_PAGE + after, e);
+            }
+        });
+    }
+
+    @Override
+    public Stream<T> streamAll(int fetchSize) {
+        return timedStream("streamAll", () -> {
+            try {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<T> query = cb.createQuery(getEntityClass());
+                Root<T> root = query.from(getEntityClass());
+                query.select(root);
+                query.orderBy(cb.asc(root.get(getIdAttribute())));
+                return entityManager.createQuery(query)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()
+                        .peek(entityManager::detach);
+            } catch (Exception e) {
+                logger.error(ERROR_STREAM, e);
+                throw new DaoException(ERROR_STREAM, e);
+            }
+        });
     }
 
     @Override
     public T save(T entity) {
-        try {
-            entityManager.persist(entity);
-            entityManager.flush();
-            logger.debug("Сущность сохранена: {}", entity);
-            return entity;
-        } catch (Exception e) {
-            logger.error(ERROR_SAVE, e);
-            throw new DaoException(ERROR_SAVE, e);
-        }
+        return timed("save", () -> {
+            try {
+                entityManager.persist(entity);
+                entityManager.flush();
+                logger.debug("Сущность сохранена: {}", entity);
+                return entity;
+            } catch (Exception e) {
+                logger.error(ERROR_SAVE, e);
+                throw new DaoException(ERROR_SAVE, e);
+            }
+        });
+    }
+
+    @Override
+    public List<T> persistAll(List<T> entities) {
+        return timed("persistAll", () -> {
+            try {
+                Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+                long preparedBefore = statistics.getPrepareStatementCount();
+                for (T entity : entities) {
+                    entityManager.persist(entity);
+                }
+                entityManager.flush();
+                logger.debug("Сохранено сущностей: {}, подготовлено запросов: {}",
+                        entities.size(), statistics.getPrepareStatementCount() - preparedBefore);
+                return entities;
+            } catch (Exception e) {
+                logger.error(ERROR_SAVE, e);
+                throw new DaoException(ERROR_SAVE, e);
+            }
+        });
     }
 
     @Override
     public T update(T entity) {
-        try {
-            T merged = entityManager.merge(entity);
-            entityManager.flush();
-            logger.debug("Сущность обновлена: {}", merged);
-            return merged;
-        } catch (Exception e) {
-            logger.error(ERROR_UPDATE, e);
-            throw new DaoException(ERROR_UPDATE, e);
-        }
+        return timed("update", () -> {
+            try {
+                T merged = entityManager.merge(entity);
+                entityManager.flush();
+                logger.debug("Сущность обновлена: {}", merged);
+                return merged;
+            } catch (Exception e) {
+                logger.error(ERROR_UPDATE, e);
+                throw new DaoException(ERROR_UPDATE, e);
+            }
+        });
     }
 
     @Override
     public boolean delete(K id) {
-        try {
-            T entity = entityManager.find(getEntityClass(), id);
-            if (entity != null) {
-                entityManager.remove(entity);
-                entityManager.flush();
-                logger.debug("Сущность удалена с ID: {}", id);
-                return true;
+        return timed("delete", () -> {
+            try {
+                T entity = entityManager.find(getEntityClass(), id);
+                if (entity != null) {
+                    entityManager.remove(entity);
+                    entityManager.flush();
+                    logger.debug("Сущность удалена с ID: {}", id);
+                    return true;
+                }
+                return false;
+            } catch (Exception e) {
+                logger.error(ERROR_DELETE + id, e);
+                throw new DaoException(ERROR_DELETE + id, e);
             }
-            return false;
-        } catch (Exception e) {
-            logger.error(ERROR_DELETE + id, e);
-            throw new DaoException(ERROR_DELETE + id, e);
-        }
+        });
     }
 
     @Override
     public long count() {
-        try {
-            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-            CriteriaQuery<Long> query = cb.createQuery(Long.class);
-            Root<T> root = query.from(getEntityClass());
-            query.select(cb.count(root));
-            return entityManager.createQuery(query).getSingleResult();
-        } catch (Exception e) {
-            logger.error(ERROR_COUNT, e);
-            throw new DaoException(ERROR_COUNT, e);
-        }
+        return timed("count", () -> {
+            try {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<Long> query = cb.createQuery(Long.class);
+                Root<T> root = query.from(getEntityClass());
+                query.select(cb.count(root));
+                return entityManager.createQuery(query).getSingleResult();
+            } catch (Exception e) {
+                logger.error(ERROR_COUNT, e);
+                throw new DaoException(ERROR_COUNT, e);
+            }
+        });
     }
 
     protected List<T> executeQuery(String jpql, Object... params) {
@@ -143,4 +242,37 @@ public abstract class AbstractJpaDao<T, K> implements GenericDao<T, K> {
             throw new DaoException("Ошибка выполнения запроса", e);
         }
     }
+
+    protected <R> TypedQuery<R> createProjectionQuery(String jpql, Class<R> resultClass) {
+        return entityManager.createQuery(jpql, resultClass)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+
+    protected <R> R timed(String operation, Supplier<R> action) {
+        if (operationTimer == null) {
+            return action.get();
+        }
+        return operationTimer.record(operation, action);
+    }
+
+    protected <R> Stream<R> timedStream(String operation, Supplier<Stream<R>> open) {
+        if (operationTimer == null) {
+            return open.get();
+        }
+        return operationTimer.recordStream(operation, open);
+    }
+
+    protected void timedRun(String operation, Runnable action) {
+        if (operationTimer == null) {
+            action.run();
+            return;
+        }
+        operationTimer.run(operation, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> asComparable(K key) {
+        return (Comparable<Object>) key;
+    }
 }
\ No newline at end of file
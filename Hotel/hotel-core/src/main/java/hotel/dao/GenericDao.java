@@ -2,11 +2,14 @@ package hotel.dao;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GenericDao<T, K> {
 
     T save(T entity);
 
+    List<T> persistAll(List<T> entities);
+
     T update(T entity);
 
     boolean delete(K id);
@@ -15,5 +18,9 @@ public interface GenericDao<T, K> {
 
     List<T> findAll();
 
+    List<T> findPage(K after, int limit);
+
+    Stream<T> streamAll(int fetchSize);
+
     long count();
 }
\ No newline at end of file
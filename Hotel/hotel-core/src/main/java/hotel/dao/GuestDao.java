@@ -1,11 +1,29 @@
 package hotel.dao;
 
+import enums.GuestSort;
+import enums.RoomStatus;
+import enums.SortDirection;
 import hotel.Guest;
+import hotel.GuestData;
+import hotel.GuestServiceUsage;
+import hotel.Service;
+import hotel.dto.GuestDto;
+import hotel.dto.GuestWithServicesDto;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class GuestDao extends AbstractJpaDao<Guest, String> {
@@ -13,7 +31,32 @@ public class GuestDao extends AbstractJpaDao<Guest, String> {
     private static final String FIND_BY_ROOM_JPQL =
             "SELECT g FROM Guest g WHERE g.roomNumber = :roomNumber";
 
-    private static final String SAVE_GUEST_SQL = "INSERT INTO guests (firstname, lastname, room_number) " + "VALUES (?1, ?2, ?3) RETURNING id";
+    private static final String GUEST_DTO_JPQL =
+            "SELECT new hotel.dto.GuestDto(g.id, g.firstname, g.lastname, g.roomNumber) FROM Guest g ";
+
+    private static final String FIND_GUEST_DATA_JPQL =
+            "SELECT new hotel.GuestData(g.id, CONCAT(g.firstname, ' ', g.lastname), g.roomNumber, r.endDate) " +
+            "FROM Guest g JOIN Room r ON r.number = g.roomNumber ";
+
+    private static final String STREAM_WITH_SERVICES_JPQL =
+            "SELECT g.id, g.firstname, g.lastname, g.roomNumber, s.id, s.name, s.price, s.description, u.usageDate " +
+            "FROM Guest g LEFT JOIN GuestServiceUsage u ON u.guest.id = g.id LEFT JOIN u.service s " +
+            "ORDER BY g.id, u.id";
+
+    private static final String SAVE_GUESTS_SQL_PREFIX = "INSERT INTO guests (id, firstname, lastname, room_number) VALUES ";
+
+    private static final int COLUMNS_PER_GUEST = 4;
+
+    private static final String ID_SEQUENCE = "guests_seq";
+
+    private static final String ID_PREFIX = "G";
+
+    private final PooledIdGenerator idGenerator;
+
+    @Autowired
+    public GuestDao(PooledIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     @Override
     protected Class<Guest> getEntityClass() {
@@ -22,21 +65,126 @@ public class GuestDao extends AbstractJpaDao<Guest, String> {
 
     @Override
     public Guest save(Guest entity) {
-        String generatedId = (String) getEntityManager()
-                .createNativeQuery(SAVE_GUEST_SQL)
-                .setParameter(1, entity.getFirstName())
-                .setParameter(2, entity.getLastName())
-                .setParameter(3, entity.getRoomNumber())
-                .getSingleResult();
+        entity.setId(idGenerator.next(ID_SEQUENCE, ID_PREFIX));
+        return super.save(entity);
+    }
+
+    public List<Guest> saveAll(List<Guest> entities) {
+        return timed("saveAll", () -> {
+            if (entities.isEmpty()) {
+                return entities;
+            }
+
+            List<String> ids = idGenerator.next(ID_SEQUENCE, ID_PREFIX, entities.size());
 
-        entity.setId(generatedId);
-        return entity;
+            StringJoiner values = new StringJoiner(", ", SAVE_GUESTS_SQL_PREFIX, "");
+            for (int i = 0; i < entities.size(); i++) {
+                int offset = i * COLUMNS_PER_GUEST;
+                values.add("(?" + (offset + 1) + ", ?" + (offset + 2) + ", ?" + (offset + 3) + ", ?" + (offset + 4) + ")");
+            }
+
+            Query query = getEntityManager().createNativeQuery(values.toString());
+            query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Guest.class);
+            for (int i = 0; i < entities.size(); i++) {
+                Guest guest = entities.get(i);
+                guest.setId(ids.get(i));
+                int offset = i * COLUMNS_PER_GUEST;
+                query.setParameter(offset + 1, guest.getId());
+                query.setParameter(offset + 2, guest.getFirstName());
+                query.setParameter(offset + 3, guest.getLastName());
+                query.setParameter(offset + 4, guest.getRoomNumber());
+            }
+
+            query.executeUpdate();
+            return entities;
+        });
     }
 
     public List<Guest> findByRoomNumber(int roomNumber) {
-        EntityManager em = getEntityManager();
-        TypedQuery<Guest> query = em.createQuery(FIND_BY_ROOM_JPQL, Guest.class);
-        query.setParameter("roomNumber", roomNumber);
-        return query.getResultList();
+        return timed("findByRoomNumber", () -> {
+            EntityManager em = getEntityManager();
+            TypedQuery<Guest> query = em.createQuery(FIND_BY_ROOM_JPQL, Guest.class);
+            query.setParameter("roomNumber", roomNumber);
+            return query.getResultList();
+        });
+    }
+
+    public List<GuestDto> findPlacedDtos() {
+        return timed("findPlacedDtos", () -> createProjectionQuery(GUEST_DTO_JPQL + "WHERE g.roomNumber IS NOT NULL", GuestDto.class)
+                .getResultList());
+    }
+
+    public List<GuestDto> findDtosByRoomStatus(RoomStatus status) {
+        return timed("findDtosByRoomStatus", () -> createProjectionQuery(GUEST_DTO_JPQL
+                + "WHERE g.roomNumber IN (SELECT r.number FROM Room r WHERE r.status = :status)", GuestDto.class)
+                .setParameter("status", status)
+                .getResultList());
+    }
+
+    public List<GuestData> findGuestData(GuestSort sortBy, SortDirection direction) {
+        return timed("findGuestData", () -> {
+            String sortKey = switch (sortBy) {
+                case NAME -> "CONCAT(g.firstname, ' ', g.lastname)";
+                case CHECKOUT_DATE -> "r.endDate";
+            };
+            String order = direction == SortDirection.DESC ? " DESC" : " ASC";
+
+            return getEntityManager()
+                    .createQuery(FIND_GUEST_DATA_JPQL + "ORDER BY " + sortKey + order + ", g.id", GuestData.class)
+                    .getResultList();
+        });
+    }
+
+    public List<GuestDto> findDtos() {
+        return timed("findDtos", () -> createProjectionQuery(GUEST_DTO_JPQL + "ORDER BY g.id", GuestDto.class).getResultList());
+    }
+
+    public List<GuestDto> findDtoPage(String after, int limit) {
+        return timed("findDtoPage", () -> {
+            String where = after != null ? "WHERE g.id > :after " : "";
+            TypedQuery<GuestDto> query = createProjectionQuery(GUEST_DTO_JPQL + where + "ORDER BY g.id", GuestDto.class);
+            if (after != null) {
+                query.setParameter("after", after);
+            }
+            return query.setMaxResults(limit).getResultList();
+        });
+    }
+
+    public void forEachWithServices(int fetchSize, Consumer<GuestWithServicesDto> consumer) {
+        timedRun("forEachWithServices", () -> {
+            try (Stream<Object[]> rows = getEntityManager().createQuery(STREAM_WITH_SERVICES_JPQL, Object[].class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                Guest guest = null;
+                List<GuestServiceUsage> usages = new ArrayList<>();
+
+                Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object[] row = iterator.next();
+                    String guestId = (String) row[0];
+
+                    if (guest == null || !guest.getId().equals(guestId)) {
+                        if (guest != null) {
+                            consumer.accept(new GuestWithServicesDto(guest, usages));
+                        }
+                        guest = new Guest(guestId, (String) row[1], (String) row[2]);
+                        if (row[3] != null) {
+                            guest.setRoomNumber((Integer) row[3]);
+                        }
+                        usages = new ArrayList<>();
+                    }
+
+                    if (row[4] != null) {
+                        Service service = new Service((String) row[4], (String) row[5], (Integer) row[6], (String) row[7]);
+                        usages.add(new GuestServiceUsage(service, (LocalDate) row[8], guest));
+                    }
+                }
+
+                if (guest != null) {
+                    consumer.accept(new GuestWithServicesDto(guest, usages));
+                }
+            }
+        });
     }
 }
\ No newline at end of file
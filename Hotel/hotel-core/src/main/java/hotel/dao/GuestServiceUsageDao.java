@@ -1,11 +1,18 @@
 package hotel.dao;
 
+import enums.SortDirection;
+import enums.UsageServiceSort;
 import hotel.GuestServiceUsage;
+import hotel.dto.ServiceUsageDto;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.StringJoiner;
 
 @Repository
 public class GuestServiceUsageDao extends AbstractJpaDao<GuestServiceUsage, Integer> {
@@ -13,15 +20,95 @@ public class GuestServiceUsageDao extends AbstractJpaDao<GuestServiceUsage, Inte
     private static final String FIND_BY_GUEST_JPQL =
             "SELECT u FROM GuestServiceUsage u WHERE u.guest.id = :guestId ORDER BY u.usageDate DESC";
 
+    private static final String USAGE_DTO_JPQL =
+            "SELECT new hotel.dto.ServiceUsageDto(u.id, s.id, s.name, s.price, u.usageDate) " +
+            "FROM GuestServiceUsage u JOIN u.service s WHERE u.guest.id = :guestId ";
+
+    private static final String SAVE_USAGES_SQL_PREFIX = "INSERT INTO guest_service_usage (id, service_id, usage_date, guest_id) VALUES ";
+
+    private static final int COLUMNS_PER_USAGE = 4;
+
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+
+    private static final String ID_SEQUENCE = "guest_service_usage_id_seq";
+
+    private final PooledIdGenerator idGenerator;
+
+    @Autowired
+    public GuestServiceUsageDao(PooledIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
     @Override
     protected Class<GuestServiceUsage> getEntityClass() {
         return GuestServiceUsage.class;
     }
 
     public List<GuestServiceUsage> findByGuestId(String guestId) {
-        EntityManager em = getEntityManager();
-        TypedQuery<GuestServiceUsage> query = em.createQuery(FIND_BY_GUEST_JPQL, GuestServiceUsage.class);
-        query.setParameter("guestId", guestId);
-        return query.getResultList();
+        return timed("findByGuestId", () -> {
+            EntityManager em = getEntityManager();
+            TypedQuery<GuestServiceUsage> query = em.createQuery(FIND_BY_GUEST_JPQL, GuestServiceUsage.class);
+            query.setParameter("guestId", guestId);
+            return query.getResultList();
+        });
+    }
+
+    public List<ServiceUsageDto> findDtosByGuestId(String guestId, UsageServiceSort sortBy, SortDirection direction) {
+        return timed("findDtosByGuestId", () -> {
+            String sortKey = switch (sortBy) {
+                case PRICE -> "s.price";
+                case DATE -> "u.usageDate";
+            };
+            String order = direction == SortDirection.DESC ? " DESC" : " ASC";
+
+            return createProjectionQuery(USAGE_DTO_JPQL + "ORDER BY " + sortKey + order + ", u.id", ServiceUsageDto.class)
+                    .setParameter("guestId", guestId)
+                    .getResultList();
+        });
+    }
+
+    public List<ServiceUsageDto> findDtoPageByGuestId(String guestId, Integer after, int limit) {
+        return timed("findDtoPageByGuestId", () -> createProjectionQuery(USAGE_DTO_JPQL + "AND u.id > :after ORDER BY u.id", ServiceUsageDto.class)
+                .setParameter("guestId", guestId)
+                .setParameter("after", after != null ? after : 0)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    public int saveAll(List<GuestServiceUsage> usages) {
+        return timed("saveAll", () -> {
+            List<Long> ids = idGenerator.nextValues(ID_SEQUENCE, usages.size());
+            for (int i = 0; i < usages.size(); i++) {
+                usages.get(i).setId(Math.toIntExact(ids.get(i)));
+            }
+
+            int inserted = 0;
+            for (int from = 0; from < usages.size(); from += MAX_ROWS_PER_INSERT) {
+                List<GuestServiceUsage> batch = usages.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, usages.size()));
+                inserted += insertBatch(batch);
+            }
+            return inserted;
+        });
+    }
+
+    private int insertBatch(List<GuestServiceUsage> batch) {
+        StringJoiner values = new StringJoiner(", ", SAVE_USAGES_SQL_PREFIX, "");
+        for (int i = 0; i < batch.size(); i++) {
+            int offset = i * COLUMNS_PER_USAGE;
+            values.add("(?" + (offset + 1) + ", ?" + (offset + 2) + ", ?" + (offset + 3) + ", ?" + (offset + 4) + ")");
+        }
+
+        Query query = getEntityManager().createNativeQuery(values.toString());
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(GuestServiceUsage.class);
+        for (int i = 0; i < batch.size(); i++) {
+            GuestServiceUsage usage = batch.get(i);
+            int offset = i * COLUMNS_PER_USAGE;
+            query.setParameter(offset + 1, usage.getId());
+            query.setParameter(offset + 2, usage.getService().getId());
+            query.setParameter(offset + 3, usage.getUsageDate());
+            query.setParameter(offset + 4, usage.getGuest().getId());
+        }
+
+        return query.executeUpdate();
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package hotel.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class PooledIdGenerator {
+
+    private static final String NEXT_VALUE_SQL = "SELECT nextval(CAST(?1 AS regclass))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${id.allocation.size:50}")
+    private int allocationSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public String next(String sequence, String prefix) {
+        return prefix + block(sequence).next();
+    }
+
+    public List<String> next(String sequence, String prefix, int count) {
+        Block block = block(sequence);
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(prefix + block.next());
+        }
+        return ids;
+    }
+
+    public List<Long> nextValues(String sequence, int count) {
+        Block block = block(sequence);
+        List<Long> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(block.next());
+        }
+        return values;
+    }
+
+    private Block block(String sequence) {
+        return blocks.computeIfAbsent(sequence, Block::new);
+    }
+
+    private long fetchBlockStart(String sequence) {
+        return ((Number) entityManager.createNativeQuery(NEXT_VALUE_SQL)
+                .setParameter(1, sequence)
+                .getSingleResult()).longValue();
+    }
+
+    private final class Block {
+
+        private final String sequence;
+        private long nextValue;
+        private long limit;
+
+        private Block(String sequence) {
+            this.sequence = sequence;
+        }
+
+        private synchronized long next() {
+            if (nextValue >= limit) {
+                nextValue = fetchBlockStart(sequence);
+                limit = nextValue + allocationSize;
+            }
+            return nextValue++;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package hotel.dao;
+
+import enums.RoomType;
+import exceptions.ConflictException;
+import exceptions.DaoException;
+import hotel.Reservation;
+import hotel.Room;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class ReservationDao extends AbstractJpaDao<Reservation, Integer> {
+
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
+    private static final String PERIOD_OVERLAP =
+            "daterange(res.start_date, res.end_date, '[)') && daterange(?2, ?3, '[)')";
+
+    private static final String FIND_OVERLAPPING_SQL =
+            "SELECT res.* FROM reservations res WHERE res.room_number = ?1 AND " + PERIOD_OVERLAP + " ORDER BY res.start_date";
+
+    private static final String FIND_FREE_ROOMS_SQL =
+            "SELECT r.* FROM rooms r " +
+            "WHERE r.capacity >= ?1 " +
+            "AND (r.room_status = 'AVAILABLE' OR r.end_date < ?2) " +
+            "AND NOT EXISTS (SELECT 1 FROM reservations res WHERE res.room_number = r.number AND " + PERIOD_OVERLAP + ") ";
+
+    private static final String ROOM_TYPE_FILTER = "AND r.room_type = ?4 ";
+
+    @Override
+    protected Class<Reservation> getEntityClass() {
+        return Reservation.class;
+    }
+
+    @Override
+    public Reservation save(Reservation entity) {
+        return timed("save", () -> {
+            try {
+                getEntityManager().persist(entity);
+                getEntityManager().flush();
+                return entity;
+            } catch (PersistenceException e) {
+                if (isExclusionViolation(e)) {
+                    throw new ConflictException("Комната " + entity.getRoomNumber() + " уже забронирована на период "
+                            + entity.getStartDate() + " - " + entity.getEndDate(), e);
+                }
+                logger.error(ERROR_SAVE, e);
+                throw new DaoException(ERROR_SAVE, e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Reservation> findOverlapping(int roomNumber, LocalDate from, LocalDate to) {
+        return timed("findOverlapping", () -> getEntityManager().createNativeQuery(FIND_OVERLAPPING_SQL, Reservation.class)
+                .setParameter(1, roomNumber)
+                .setParameter(2, from)
+                .setParameter(3, to)
+                .getResultList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Room> findFreeRooms(LocalDate from, LocalDate to, RoomType type, int minCapacity) {
+        return timed("findFreeRooms", () -> {
+            String sql = FIND_FREE_ROOMS_SQL + (type != null ? ROOM_TYPE_FILTER : "") + "ORDER BY r.number";
+            Query query = getEntityManager().createNativeQuery(sql, Room.class)
+                    .setParameter(1, minCapacity)
+                    .setParameter(2, from)
+                    .setParameter(3, to);
+            if (type != null) {
+                query.setParameter(4, type.name());
+            }
+            return query.getResultList();
+        });
+    }
+
+    private boolean isExclusionViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,12 +1,30 @@
 package hotel.dao;
 
+import enums.RoomSort;
 import enums.RoomStatus;
+import enums.RoomType;
+import enums.SortDirection;
+import hotel.Guest;
 import hotel.Room;
+import hotel.dto.RoomDto;
+import hotel.dto.RoomWithGuestsDto;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class RoomDao extends AbstractJpaDao<Room, Integer> {
@@ -14,21 +32,225 @@ public class RoomDao extends AbstractJpaDao<Room, Integer> {
     private static final String FIND_BY_STATUS_JPQL =
             "SELECT r FROM Room r WHERE r.status = ?1";
 
+    private static final String ROOM_DTO_JPQL =
+            "SELECT new hotel.dto.RoomDto(r.number, r.type, r.price, r.capacity, r.status, r.daysUnderStatus, r.endDate) FROM Room r ";
+
     private static final String FIND_AVAILABLE_JPQL =
             "SELECT r FROM Room r WHERE r.status = 'AVAILABLE'";
 
+    private static final String STREAM_WITH_GUESTS_JPQL =
+            "SELECT r.number, r.type, r.price, r.capacity, r.status, r.endDate, r.daysUnderStatus, g.id, g.firstname, g.lastname " +
+            "FROM Room r LEFT JOIN Guest g ON g.roomNumber = r.number " +
+            "ORDER BY r.number, g.id";
+
+    private static final String FIND_NUMBERS_BY_END_DATE_AND_STATUSES_JPQL =
+            "SELECT r.number FROM Room r WHERE r.endDate = :day AND r.status IN :statuses ORDER BY r.number";
+
+    private static final String FIND_BY_END_DATE_AND_STATUSES_JPQL =
+            "SELECT r FROM Room r WHERE r.number IN :numbers AND r.endDate = :day AND r.status IN :statuses ORDER BY r.number";
+
+    private static final String FIND_NUMBERS_BY_END_DATE_AND_STATUS_JPQL =
+            "SELECT r.number FROM Room r WHERE r.endDate = :day AND r.status = :status AND r.number > :after ORDER BY r.number";
+
+    private static final String RELEASE_ROOMS_JPQL =
+            "UPDATE Room r SET r.status = :available, r.daysUnderStatus = 0, r.version = r.version + 1 " +
+            "WHERE r.number IN :numbers AND r.endDate = :day AND r.status IN :statuses";
+
+    private static final String FIND_END_DATES_JPQL =
+            "SELECT r.number, r.endDate FROM Room r ORDER BY r.number";
+
+    private static final String TYPE_ORDER_JPQL = typeOrderJpql();
+
+    private static final int MULTI_LOAD_BATCH_SIZE = 500;
+
+    private static final String COUNT_BY_STATUS_JPQL =
+            "SELECT r.status, COUNT(r) FROM Room r GROUP BY r.status";
+
+    private static final String COUNT_BY_TYPE_JPQL =
+            "SELECT r.type, COUNT(r) FROM Room r GROUP BY r.type";
+
     @Override
     protected Class<Room> getEntityClass() {
         return Room.class;
     }
 
+    @Override
+    protected String getIdAttribute() {
+        return "number";
+    }
+
     public List<Room> findByStatus(RoomStatus status) {
-        return executeQuery(FIND_BY_STATUS_JPQL, status);
+        return timed("findByStatus", () -> executeQuery(FIND_BY_STATUS_JPQL, status));
     }
 
     public List<Room> findAvailable() {
-        EntityManager em = getEntityManager();
-        TypedQuery<Room> query = em.createQuery(FIND_AVAILABLE_JPQL, Room.class);
-        return query.getResultList();
+        return timed("findAvailable", () -> {
+            EntityManager em = getEntityManager();
+            TypedQuery<Room> query = em.createQuery(FIND_AVAILABLE_JPQL, Room.class);
+            return query.getResultList();
+        });
+    }
+
+    public List<RoomDto> findDtos(RoomStatus status) {
+        return timed("findDtos", () -> {
+            String where = status != null ? "WHERE r.status = :status " : "";
+            TypedQuery<RoomDto> query = createProjectionQuery(ROOM_DTO_JPQL + where + "ORDER BY r.number", RoomDto.class);
+            if (status != null) {
+                query.setParameter("status", status);
+            }
+            return query.getResultList();
+        });
+    }
+
+    public List<RoomDto> findDtoPage(Integer after, int limit) {
+        return timed("findDtoPage", () -> createProjectionQuery(ROOM_DTO_JPQL + "WHERE r.number > :after ORDER BY r.number", RoomDto.class)
+                .setParameter("after", after != null ? after : Integer.MIN_VALUE)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    public void forceVersionIncrement(Room room) {
+        getEntityManager().lock(room, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    public Map<Integer, LocalDate> findEndDates() {
+        return timed("findEndDates", () -> {
+            Map<Integer, LocalDate> endDates = new LinkedHashMap<>();
+            for (Object[] row : getEntityManager().createQuery(FIND_END_DATES_JPQL, Object[].class).getResultList()) {
+                endDates.put((Integer) row[0], (LocalDate) row[1]);
+            }
+            return endDates;
+        });
+    }
+
+    public List<Room> findByNumbers(List<Integer> numbers) {
+        return timed("findByNumbers", () -> getEntityManager().unwrap(Session.class)
+                .byMultipleIds(Room.class)
+                .withBatchSize(MULTI_LOAD_BATCH_SIZE)
+                .multiLoad(numbers));
+    }
+
+    public List<Integer> findNumbersByEndDateAndStatuses(LocalDate day, Collection<RoomStatus> statuses) {
+        return timed("findNumbersByEndDateAndStatuses", () -> getEntityManager().createQuery(FIND_NUMBERS_BY_END_DATE_AND_STATUSES_JPQL, Integer.class)
+                .setParameter("day", day)
+                .setParameter("statuses", statuses)
+                .getResultList());
+    }
+
+    public List<Room> lockByEndDateAndStatuses(Collection<Integer> numbers, LocalDate day, Collection<RoomStatus> statuses) {
+        return timed("lockByEndDateAndStatuses", () -> getEntityManager().createQuery(FIND_BY_END_DATE_AND_STATUSES_JPQL, Room.class)
+                .setParameter("numbers", numbers)
+                .setParameter("day", day)
+                .setParameter("statuses", statuses)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList());
+    }
+
+    public List<Integer> findNumbersByEndDateAndStatus(LocalDate day, RoomStatus status, int after, int limit) {
+        return timed("findNumbersByEndDateAndStatus", () -> getEntityManager().createQuery(FIND_NUMBERS_BY_END_DATE_AND_STATUS_JPQL, Integer.class)
+                .setParameter("day", day)
+                .setParameter("status", status)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    public int releaseRooms(Collection<Integer> numbers, LocalDate day, Collection<RoomStatus> statuses) {
+        return timed("releaseRooms", () -> {
+            if (numbers.isEmpty()) {
+                return 0;
+            }
+            return getEntityManager().createQuery(RELEASE_ROOMS_JPQL)
+                    .setParameter("available", RoomStatus.AVAILABLE)
+                    .setParameter("numbers", numbers)
+                    .setParameter("day", day)
+                    .setParameter("statuses", statuses)
+                    .executeUpdate();
+        });
+    }
+
+    public Map<RoomStatus, Long> countByStatus() {
+        return timed("countByStatus", () -> {
+            Map<RoomStatus, Long> counts = new EnumMap<>(RoomStatus.class);
+            for (Object[] row : getEntityManager().createQuery(COUNT_BY_STATUS_JPQL, Object[].class).getResultList()) {
+                counts.put((RoomStatus) row[0], (Long) row[1]);
+            }
+            return counts;
+        });
+    }
+
+    public Map<RoomType, Long> countByType() {
+        return timed("countByType", () -> {
+            Map<RoomType, Long> counts = new EnumMap<>(RoomType.class);
+            for (Object[] row : getEntityManager().createQuery(COUNT_BY_TYPE_JPQL, Object[].class).getResultList()) {
+                counts.put((RoomType) row[0], (Long) row[1]);
+            }
+            return counts;
+        });
+    }
+
+    public void forEachWithGuests(int fetchSize, Consumer<RoomWithGuestsDto> consumer) {
+        timedRun("forEachWithGuests", () -> {
+            try (Stream<Object[]> rows = getEntityManager().createQuery(STREAM_WITH_GUESTS_JPQL, Object[].class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                Room room = null;
+                List<Guest> guests = new ArrayList<>();
+
+                Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object[] row = iterator.next();
+                    int number = (Integer) row[0];
+
+                    if (room == null || room.getNumber() != number) {
+                        if (room != null) {
+                            consumer.accept(new RoomWithGuestsDto(room, guests));
+                        }
+                        room = new Room(number, (RoomType) row[1], (Integer) row[2], (Integer) row[3]);
+                        room.setStatus((RoomStatus) row[4]);
+                        room.setEndDate((LocalDate) row[5]);
+                        room.setDaysUnderStatus((Integer) row[6]);
+                        guests = new ArrayList<>();
+                    }
+
+                    if (row[7] != null) {
+                        Guest guest = new Guest((String) row[7], (String) row[8], (String) row[9]);
+                        guest.setRoomNumber(number);
+                        guests.add(guest);
+                    }
+                }
+
+                if (room != null) {
+                    consumer.accept(new RoomWithGuestsDto(room, guests));
+                }
+            }
+        });
+    }
+
+    public List<RoomDto> findSortedDtos(RoomStatus status, RoomSort sortBy, SortDirection direction) {
+        return timed("findSortedDtos", () -> {
+            String where = status != null ? "WHERE r.status = :status " : "";
+            String sortKey = switch (sortBy) {
+                case PRICE -> "r.price";
+                case CAPACITY -> "r.capacity";
+                case TYPE -> TYPE_ORDER_JPQL;
+            };
+            String order = direction == SortDirection.DESC ? " DESC" : " ASC";
+
+            TypedQuery<RoomDto> query = createProjectionQuery(ROOM_DTO_JPQL + where + "ORDER BY " + sortKey + order + ", r.number", RoomDto.class);
+            if (status != null) {
+                query.setParameter("status", status);
+            }
+            return query.getResultList();
+        });
+    }
+
+    private static String typeOrderJpql() {
+        StringBuilder typeOrder = new StringBuilder("CASE r.type");
+        for (RoomType type : RoomType.values()) {
+            typeOrder.append(" WHEN enums.RoomType.").append(type.name()).append(" THEN ").append(type.ordinal());
+        }
+        return typeOrder.append(" ELSE ").append(RoomType.values().length).append(" END").toString();
     }
-}
\ No newline at end of file
+}
@@ -6,7 +6,10 @@ import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Repository
 public class RoomGuestHistoryDao extends AbstractJpaDao<RoomGuestHistory, Long> {
@@ -17,11 +20,11 @@ public class RoomGuestHistoryDao extends AbstractJpaDao<RoomGuestHistory, Long>
     private static final String FIND_MAX_GROUP_ID_JPQL =
             "SELECT COALESCE(MAX(h.groupId), 0) FROM RoomGuestHistory h WHERE h.roomNumber = :roomNumber";
 
-    private static final String FIND_DISTINCT_GROUPS_JPQL =
-            "SELECT DISTINCT h.groupId FROM RoomGuestHistory h WHERE h.roomNumber = :roomNumber ORDER BY h.groupId DESC";
-
-    private static final String FIND_BY_ROOM_AND_GROUP_JPQL =
-            "SELECT h FROM RoomGuestHistory h WHERE h.roomNumber = :roomNumber AND h.groupId = :groupId";
+    private static final String FIND_LAST_GROUPS_SQL =
+            "SELECT id, guest_id, firstname, lastname, room_number, group_id FROM (" +
+            "SELECT h.*, dense_rank() OVER (ORDER BY h.group_id DESC) AS group_rank " +
+            "FROM room_guest_history h WHERE h.room_number = ?1" +
+            ") ranked WHERE group_rank <= ?2 ORDER BY group_id DESC, id";
 
     @Override
     protected Class<RoomGuestHistory> getEntityClass() {
@@ -29,38 +32,37 @@ public class RoomGuestHistoryDao extends AbstractJpaDao<RoomGuestHistory, Long>
     }
 
     public List<RoomGuestHistory> findByRoomNumber(int roomNumber) {
-        EntityManager em = getEntityManager();
-        TypedQuery<RoomGuestHistory> query = em.createQuery(FIND_BY_ROOM_JPQL, RoomGuestHistory.class);
-        query.setParameter("roomNumber", roomNumber);
-        return query.getResultList();
+        return timed("findByRoomNumber", () -> {
+            EntityManager em = getEntityManager();
+            TypedQuery<RoomGuestHistory> query = em.createQuery(FIND_BY_ROOM_JPQL, RoomGuestHistory.class);
+            query.setParameter("roomNumber", roomNumber);
+            return query.getResultList();
+        });
     }
 
     public int getNextGroupId(int roomNumber) {
-        EntityManager em = getEntityManager();
-        TypedQuery<Integer> query = em.createQuery(FIND_MAX_GROUP_ID_JPQL, Integer.class);
-        query.setParameter("roomNumber", roomNumber);
-        Integer maxGroupId = query.getSingleResult();
-        return (maxGroupId != null ? maxGroupId : 0) + 1;
+        return timed("getNextGroupId", () -> {
+            EntityManager em = getEntityManager();
+            TypedQuery<Integer> query = em.createQuery(FIND_MAX_GROUP_ID_JPQL, Integer.class);
+            query.setParameter("roomNumber", roomNumber);
+            Integer maxGroupId = query.getSingleResult();
+            return (maxGroupId != null ? maxGroupId : 0) + 1;
+        });
     }
 
     public List<List<RoomGuestHistory>> getPreviousGuestGroups(int roomNumber, int maxGroups) {
-        EntityManager em = getEntityManager();
-
-        TypedQuery<Integer> groupQuery = em.createQuery(FIND_DISTINCT_GROUPS_JPQL, Integer.class);
-        groupQuery.setParameter("roomNumber", roomNumber);
-        groupQuery.setMaxResults(maxGroups);
-        List<Integer> groupIds = groupQuery.getResultList();
-
-        List<List<RoomGuestHistory>> result = new ArrayList<>();
+        return timed("getPreviousGuestGroups", () -> {
+            @SuppressWarnings("unchecked")
+            List<RoomGuestHistory> rows = getEntityManager()
+                    .createNativeQuery(FIND_LAST_GROUPS_SQL, RoomGuestHistory.class)
+                    .setParameter(1, roomNumber)
+                    .setParameter(2, maxGroups)
+                    .getResultList();
 
-        for (Integer groupId : groupIds) {
-            TypedQuery<RoomGuestHistory> historyQuery =
-                    em.createQuery(FIND_BY_ROOM_AND_GROUP_JPQL, RoomGuestHistory.class);
-            historyQuery.setParameter("roomNumber", roomNumber);
-            historyQuery.setParameter("groupId", groupId);
-            result.add(historyQuery.getResultList());
-        }
+            Map<Integer, List<RoomGuestHistory>> groups = rows.stream()
+                    .collect(Collectors.groupingBy(RoomGuestHistory::getGroupId, LinkedHashMap::new, Collectors.toList()));
 
-        return result;
+            return new ArrayList<>(groups.values());
+        });
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,22 @@
 package hotel.dao;
 
 import hotel.Service;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class ServiceDao extends AbstractJpaDao<Service, String> {
 
-    private static final String SAVE_SERVICE_SQL = "INSERT INTO services (name, price, description) " + "VALUES (?1, ?2, ?3) RETURNING id";
+    private static final String ID_SEQUENCE = "services_seq";
+
+    private static final String ID_PREFIX = "S";
+
+    private final PooledIdGenerator idGenerator;
+
+    @Autowired
+    public ServiceDao(PooledIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     @Override
     protected Class<Service> getEntityClass() {
@@ -15,14 +25,7 @@ public class ServiceDao extends AbstractJpaDao<Service, String> {
 
     @Override
     public Service save(Service entity) {
-        String generatedId = (String) getEntityManager()
-                .createNativeQuery(SAVE_SERVICE_SQL)
-                .setParameter(1, entity.getName())
-                .setParameter(2, entity.getPrice())
-                .setParameter(3, entity.getDescription())
-                .getSingleResult();
-
-        entity.setId(generatedId);
-        return entity;
+        entity.setId(idGenerator.next(ID_SEQUENCE, ID_PREFIX));
+        return super.save(entity);
     }
-}
\ No newline at end of file
+}
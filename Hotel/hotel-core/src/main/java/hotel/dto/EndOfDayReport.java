@@ -0,0 +1,6 @@
+package hotel.dto;
+
+import java.time.LocalDate;
+
+public record EndOfDayReport(LocalDate day, int releasedRooms, long releaseMs, int checkedOutRooms, int checkoutChunks, long checkoutMs) {
+}
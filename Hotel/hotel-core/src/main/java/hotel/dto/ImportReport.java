@@ -0,0 +1,4 @@
+package hotel.dto;
+
+public record ImportReport(int imported, int chunks, long elapsedMs, double rowsPerSecond) {
+}
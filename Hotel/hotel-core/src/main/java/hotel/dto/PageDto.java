@@ -0,0 +1,28 @@
+package hotel.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PageDto<T> {
+
+    private final List<T> items;
+    private final Object nextCursor;
+
+    public PageDto(List<T> items, Object nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> PageDto<T> of(List<T> items, int limit, Function<T, ?> cursorExtractor) {
+        Object nextCursor = items.size() == limit ? cursorExtractor.apply(items.get(items.size() - 1)) : null;
+        return new PageDto<>(items, nextCursor);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Object getNextCursor() {
+        return nextCursor;
+    }
+}
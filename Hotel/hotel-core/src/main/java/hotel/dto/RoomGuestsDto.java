@@ -0,0 +1,26 @@
+package hotel.dto;
+
+import java.util.List;
+
+public class RoomGuestsDto {
+
+    private final RoomDto room;
+    private final List<GuestDto> guests;
+
+    public RoomGuestsDto(RoomDto room, List<GuestDto> guests) {
+        this.room = room;
+        this.guests = guests != null ? guests : List.of();
+    }
+
+    public RoomDto getRoom() {
+        return room;
+    }
+
+    public List<GuestDto> getGuests() {
+        return guests;
+    }
+
+    public int getNumber() {
+        return room.getNumber();
+    }
+}
@@ -0,0 +1,6 @@
+package hotel.dto;
+
+import java.time.LocalDate;
+
+public record ServiceUsageDto(int id, String serviceId, String serviceName, int price, LocalDate usageDate) {
+}
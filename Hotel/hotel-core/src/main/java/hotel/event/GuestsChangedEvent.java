@@ -0,0 +1,4 @@
+package hotel.event;
+
+public record GuestsChangedEvent(int roomNumber, int delta) {
+}
@@ -0,0 +1,17 @@
+package hotel.event;
+
+import enums.RoomStatus;
+import enums.RoomType;
+
+import java.time.LocalDate;
+
+public record RoomChangedEvent(int roomNumber, RoomType previousType, RoomStatus previousStatus, RoomType type, RoomStatus status, LocalDate endDate) {
+
+    public static RoomChangedEvent created(int roomNumber, RoomType type, RoomStatus status, LocalDate endDate) {
+        return new RoomChangedEvent(roomNumber, null, null, type, status, endDate);
+    }
+
+    public boolean isCreated() {
+        return previousType == null && previousStatus == null;
+    }
+}
@@ -0,0 +1,45 @@
+package hotel.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+@Component
+public class CacheMetrics {
+
+    private static final List<String> REGIONS = List.of("rooms", "services");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MetricsRegistry metricsRegistry;
+
+    public CacheMetrics(EntityManagerFactory entityManagerFactory, MetricsRegistry metricsRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @PostConstruct
+    public void register() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : REGIONS) {
+            regionGauge(statistics, "cache_hits", region, CacheRegionStatistics::getHitCount);
+            regionGauge(statistics, "cache_misses", region, CacheRegionStatistics::getMissCount);
+            regionGauge(statistics, "cache_puts", region, CacheRegionStatistics::getPutCount);
+            regionGauge(statistics, "cache_entries", region, CacheRegionStatistics::getElementCountInMemory);
+        }
+        metricsRegistry.gauge("jdbc_prepared_statements", statistics::getPrepareStatementCount);
+        metricsRegistry.gauge("entity_inserts", statistics::getEntityInsertCount);
+    }
+
+    private void regionGauge(Statistics statistics, String name, String region, ToLongFunction<CacheRegionStatistics> value) {
+        metricsRegistry.gauge(name, () -> {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            return regionStatistics == null ? 0L : value.applyAsLong(regionStatistics);
+        }, "region", region);
+    }
+}
@@ -0,0 +1,114 @@
+package hotel.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    private static final long FIRST_BOUND_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final int BOUNDS_COUNT = 27;
+    private static final long[] BOUNDS_NANOS = buildBounds();
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_COUNT + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    private static long[] buildBounds() {
+        long[] bounds = new long[BOUNDS_COUNT];
+        long bound = FIRST_BOUND_NANOS;
+        for (int i = 0; i < BOUNDS_COUNT; i++) {
+            bounds[i] = bound;
+            bound *= 2;
+        }
+        return bounds;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets[bucketIndex(value)].increment();
+        count.increment();
+        sumNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    public void recordMillis(long millis) {
+        record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long[] getBucketBoundsNanos() {
+        return BOUNDS_NANOS.clone();
+    }
+
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public double percentileMillis(double percentile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(percentile * total);
+        long cumulative = 0;
+        for (int i = 0; i < BOUNDS_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(BOUNDS_NANOS[i], getMaxNanos()) / NANOS_IN_MILLI;
+            }
+        }
+        return getMaxNanos() / NANOS_IN_MILLI;
+    }
+
+    public Map<String, Object> summary() {
+        long total = getCount();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", total);
+        summary.put("meanMs", total == 0 ? 0.0 : getSumNanos() / NANOS_IN_MILLI / total);
+        summary.put("p50Ms", percentileMillis(0.50));
+        summary.put("p95Ms", percentileMillis(0.95));
+        summary.put("p99Ms", percentileMillis(0.99));
+        summary.put("maxMs", getMaxNanos() / NANOS_IN_MILLI);
+        return summary;
+    }
+
+    private static int bucketIndex(long nanos) {
+        for (int i = 0; i < BOUNDS_COUNT; i++) {
+            if (nanos <= BOUNDS_NANOS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS_COUNT;
+    }
+}
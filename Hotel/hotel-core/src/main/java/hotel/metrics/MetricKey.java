@@ -0,0 +1,31 @@
+package hotel.metrics;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public record MetricKey(String name, SortedMap<String, String> tags) {
+
+    public static MetricKey of(String name, String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Теги метрики должны задаваться парами ключ-значение: " + name);
+        }
+
+        SortedMap<String, String> tagMap = new TreeMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            tagMap.put(tags[i], tags[i + 1]);
+        }
+        return new MetricKey(name, Collections.unmodifiableSortedMap(tagMap));
+    }
+
+    @Override
+    public String toString() {
+        if (tags.isEmpty()) {
+            return name;
+        }
+        return tags.entrySet().stream()
+                .map(tag -> tag.getKey() + "=\"" + tag.getValue() + "\"")
+                .collect(Collectors.joining(",", name + "{", "}"));
+    }
+}
@@ -0,0 +1,49 @@
+package hotel.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class MetricsRegistry {
+
+    private final Map<MetricKey, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+    private final Map<MetricKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<MetricKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public void gauge(String name, Supplier<Number> supplier, String... tags) {
+        gauges.put(MetricKey.of(name, tags), supplier);
+    }
+
+    public LongAdder counter(String name, String... tags) {
+        return counters.computeIfAbsent(MetricKey.of(name, tags), key -> new LongAdder());
+    }
+
+    public LatencyHistogram histogram(String name, String... tags) {
+        return histograms.computeIfAbsent(MetricKey.of(name, tags), key -> new LatencyHistogram());
+    }
+
+    public Map<MetricKey, Supplier<Number>> getGauges() {
+        return Map.copyOf(gauges);
+    }
+
+    public Map<MetricKey, LongAdder> getCounters() {
+        return Map.copyOf(counters);
+    }
+
+    public Map<MetricKey, LatencyHistogram> getHistograms() {
+        return Map.copyOf(histograms);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        gauges.forEach((key, supplier) -> snapshot.put(key.toString(), supplier.get()));
+        counters.forEach((key, counter) -> snapshot.put(key.toString(), counter.sum()));
+        histograms.forEach((key, histogram) -> snapshot.put(key.toString(), histogram.summary()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,110 @@
+package hotel.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class OperationTimer {
+
+    private final MetricsRegistry metricsRegistry;
+    private final String prefix;
+    private final String[] tags;
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    public OperationTimer(MetricsRegistry metricsRegistry, String prefix, String... tags) {
+        this.metricsRegistry = metricsRegistry;
+        this.prefix = prefix;
+        this.tags = tags.clone();
+    }
+
+    public void run(String operation, Runnable action) {
+        record(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T record(String operation, Supplier<T> action) {
+        OperationMetrics metrics = metrics(operation);
+        long startedAt = System.nanoTime();
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            metrics.errors().increment();
+            throw e;
+        } finally {
+            metrics.latency().record(System.nanoTime() - startedAt);
+        }
+    }
+
+    public <T> Stream<T> recordStream(String operation, Supplier<Stream<T>> open) {
+        OperationMetrics metrics = metrics(operation);
+        long startedAt = System.nanoTime();
+        Stream<T> source;
+        try {
+            source = open.get();
+        } catch (RuntimeException e) {
+            metrics.errors().increment();
+            metrics.latency().record(System.nanoTime() - startedAt);
+            throw e;
+        }
+
+        return StreamSupport.stream(new ErrorCountingSpliterator<>(source.spliterator(), metrics.errors()), false)
+                .onClose(() -> metrics.latency().record(System.nanoTime() - startedAt))
+                .onClose(source::close);
+    }
+
+    private OperationMetrics metrics(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        if (metrics == null) {
+            metrics = operations.computeIfAbsent(operation, this::register);
+        }
+        return metrics;
+    }
+
+    private OperationMetrics register(String operation) {
+        String[] operationTags = Arrays.copyOf(tags, tags.length + 2);
+        operationTags[tags.length] = "operation";
+        operationTags[tags.length + 1] = operation;
+        return new OperationMetrics(
+                metricsRegistry.counter(prefix + "_errors", operationTags),
+                metricsRegistry.histogram(prefix + "_latency", operationTags));
+    }
+
+    private record OperationMetrics(LongAdder errors, LatencyHistogram latency) {
+    }
+
+    private record ErrorCountingSpliterator<T>(Spliterator<T> delegate, LongAdder errors) implements Spliterator<T> {
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                return delegate.tryAdvance(action);
+            } catch (RuntimeException e) {
+                errors.increment();
+                throw e;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics() & ~Spliterator.SIZED & ~Spliterator.SUBSIZED;
+        }
+    }
+}
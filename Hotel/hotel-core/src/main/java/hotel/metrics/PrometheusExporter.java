@@ -0,0 +1,140 @@
+package hotel.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class PrometheusExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+
+    private final MetricsRegistry metricsRegistry;
+
+    public PrometheusExporter(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+
+        for (Map.Entry<String, List<Map.Entry<MetricKey, Supplier<Number>>>> family : byFamily(metricsRegistry.getGauges(), "").entrySet()) {
+            header(out, family.getKey(), "gauge");
+            for (Map.Entry<MetricKey, Supplier<Number>> gauge : family.getValue()) {
+                sample(out, family.getKey(), gauge.getKey().tags(), null, format(gauge.getValue().get().doubleValue()));
+            }
+        }
+
+        for (Map.Entry<String, List<Map.Entry<MetricKey, LongAdder>>> family : byFamily(metricsRegistry.getCounters(), "_total").entrySet()) {
+            header(out, family.getKey(), "counter");
+            for (Map.Entry<MetricKey, LongAdder> counter : family.getValue()) {
+                sample(out, family.getKey(), counter.getKey().tags(), null, String.valueOf(counter.getValue().sum()));
+            }
+        }
+
+        for (Map.Entry<String, List<Map.Entry<MetricKey, LatencyHistogram>>> family : byFamily(metricsRegistry.getHistograms(), "_seconds").entrySet()) {
+            header(out, family.getKey(), "histogram");
+            for (Map.Entry<MetricKey, LatencyHistogram> histogram : family.getValue()) {
+                histogram(out, family.getKey(), histogram.getKey().tags(), histogram.getValue());
+            }
+        }
+
+        return out.toString();
+    }
+
+    private void histogram(StringBuilder out, String name, SortedMap<String, String> tags, LatencyHistogram histogram) {
+        long[] bounds = histogram.getBucketBoundsNanos();
+        long[] counts = histogram.getBucketCounts();
+
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            sample(out, name + "_bucket", tags, format(bounds[i] / NANOS_IN_SECOND), String.valueOf(cumulative));
+        }
+        cumulative += counts[bounds.length];
+        sample(out, name + "_bucket", tags, "+Inf", String.valueOf(cumulative));
+        sample(out, name + "_sum", tags, null, format(histogram.getSumNanos() / NANOS_IN_SECOND));
+        sample(out, name + "_count", tags, null, String.valueOf(cumulative));
+    }
+
+    private static <V> Map<String, List<Map.Entry<MetricKey, V>>> byFamily(Map<MetricKey, V> metrics, String suffix) {
+        Map<String, List<Map.Entry<MetricKey, V>>> families = new TreeMap<>();
+        for (Map.Entry<MetricKey, V> metric : metrics.entrySet()) {
+            String name = sanitize(metric.getKey().name());
+            String family = name.endsWith(suffix) ? name : name + suffix;
+            families.computeIfAbsent(family, key -> new ArrayList<>()).add(metric);
+        }
+        families.values().forEach(series -> series.sort(Comparator.comparing(metric -> metric.getKey().toString())));
+        return families;
+    }
+
+    private static void header(StringBuilder out, String name, String type) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, SortedMap<String, String> tags, String le, String value) {
+        out.append(name);
+        if (!tags.isEmpty() || le != null) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                label(out, tag.getKey(), tag.getValue());
+                first = false;
+            }
+            if (le != null) {
+                if (!first) {
+                    out.append(',');
+                }
+                label(out, "le", le);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static void label(StringBuilder out, String name, String value) {
+        out.append(sanitize(name)).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    private static String sanitize(String name) {
+        StringBuilder sanitized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = c == '_' || c == ':' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (i > 0 && c >= '0' && c <= '9');
+            sanitized.append(valid ? c : '_');
+        }
+        return sanitized.toString();
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+}
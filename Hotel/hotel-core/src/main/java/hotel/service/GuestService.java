@@ -6,18 +6,19 @@ import enums.SortDirection;
 import exceptions.DaoException;
 import hotel.Guest;
 import hotel.Service;
-import hotel.Room;
 import hotel.GuestServiceUsage;
 import hotel.GuestData;
 import hotel.dao.GuestDao;
+import hotel.dto.GuestDto;
+import hotel.dto.GuestWithServicesDto;
+import hotel.dto.ServiceUsageDto;
 import hotel.dao.GuestServiceUsageDao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @org.springframework.stereotype.Service
 @Transactional(readOnly = true)
@@ -25,61 +26,63 @@ public class GuestService {
 
     private GuestDao guestDao;
     private GuestServiceUsageDao usageDao;
-    private RoomService roomService;
     private ServiceService serviceService;
     private HotelState hotelState;
+    private OccupancyStatistics statistics;
 
     @Autowired
-    public GuestService(GuestDao guestDao, GuestServiceUsageDao usageDao, RoomService roomService, ServiceService serviceService, HotelState hotelState) {
+    public GuestService(GuestDao guestDao, GuestServiceUsageDao usageDao, ServiceService serviceService, HotelState hotelState, OccupancyStatistics statistics) {
         this.guestDao = guestDao;
         this.usageDao = usageDao;
-        this.roomService = roomService;
         this.serviceService = serviceService;
         this.hotelState = hotelState;
+        this.statistics = statistics;
     }
 
     public List<Guest> getAllGuests() {
         return guestDao.findAll();
     }
 
+    public List<GuestDto> getGuestDtos() {
+        return guestDao.findDtos();
+    }
+
+    public List<GuestDto> getGuestDtosPage(String after, int limit) {
+        return guestDao.findDtoPage(after, limit);
+    }
+
+    public void forEachGuestWithServices(int fetchSize, Consumer<GuestWithServicesDto> consumer) {
+        guestDao.forEachWithServices(fetchSize, consumer);
+    }
+
     public List<Guest> getGuestsByRoom(int roomNumber) {
         return guestDao.findByRoomNumber(roomNumber);
     }
 
     public List<GuestData> getSortedGuests(GuestSort sortBy, SortDirection direction) {
-        Comparator<Guest> comparator = switch (sortBy) {
-            case GuestSort.NAME -> Comparator.comparing(Guest::getFullName);
-            case GuestSort.CHECKOUT_DATE -> Comparator.comparing(guest -> {
-                Room room = roomService.getRoomByNumber(guest.getRoomNumber());
-                return room.getEndDate();
-            });
-        };
-
-        if (direction == SortDirection.DESC) {
-            comparator = comparator.reversed();
-        }
-
-        List<Guest> sortedGuests = getAllGuests().stream().sorted(comparator).toList();
-        return createGuestDataList(sortedGuests);
+        return guestDao.findGuestData(sortBy, direction);
     }
 
     public int getGuestsCount() {
-        return getAllGuests().size();
+        return (int) statistics.getGuestsCount();
     }
 
     public Guest getGuestById(String id) {
         return guestDao.findById(id).orElse(null);
     }
 
-    public List<GuestServiceUsage> getGuestServiceUsageList(String guestId, UsageServiceSort sortBy, SortDirection direction) {
-        List<GuestServiceUsage> usages = getGuestServices(guestId);
-        return sortServices(usages, sortBy, direction);
+    public List<ServiceUsageDto> getGuestServiceUsageList(String guestId, UsageServiceSort sortBy, SortDirection direction) {
+        return usageDao.findDtosByGuestId(guestId, sortBy, direction);
     }
 
     public List<GuestServiceUsage> getGuestServices(String guestId) {
         return usageDao.findByGuestId(guestId);
     }
 
+    public List<ServiceUsageDto> getGuestServicesPage(String guestId, Integer after, int limit) {
+        return usageDao.findDtoPageByGuestId(guestId, after, limit);
+    }
+
     @Transactional
     public void updateGuest(Guest guest) {
         try {
@@ -110,34 +113,10 @@ public class GuestService {
     }
 
     @Transactional
-    private List<GuestData> createGuestDataList(List<Guest> sortedGuests) {
-        return sortedGuests.stream()
-                .map(guest -> {
-                    Room room = roomService.getRoomByNumber(guest.getRoomNumber());
-                    return new GuestData(
-                            guest.getId(),
-                            guest.getFullName(),
-                            guest.getRoomNumber(),
-                            room.getEndDate()
-                    );
-                })
-                .collect(Collectors.toList());
-    }
-
-    private List<GuestServiceUsage> sortServices(List<GuestServiceUsage> usages,
-                                                 UsageServiceSort sortBy,
-                                                 SortDirection direction) {
-        Comparator<GuestServiceUsage> comparator = switch (sortBy) {
-            case PRICE -> Comparator.comparingInt(GuestServiceUsage::getPrice);
-            case DATE -> Comparator.comparing(GuestServiceUsage::getUsageDate);
-        };
-
-        if (direction == SortDirection.DESC) {
-            comparator = comparator.reversed();
+    public int addServiceUsages(List<GuestServiceUsage> usages) {
+        if (usages.isEmpty()) {
+            return 0;
         }
-
-        return usages.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+        return usageDao.saveAll(usages);
     }
 }
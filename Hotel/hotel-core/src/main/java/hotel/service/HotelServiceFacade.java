@@ -3,24 +3,43 @@ package hotel.service;
 import enums.RoomSort;
 import enums.RoomStatus;
 import enums.SortDirection;
+import exceptions.ConflictException;
 import exceptions.DaoException;
 import hotel.Guest;
+import hotel.Reservation;
 import hotel.Room;
 import hotel.RoomGuestHistory;
 import hotel.dao.GuestDao;
+import hotel.dao.ReservationDao;
 import hotel.dao.RoomDao;
 import hotel.dao.RoomGuestHistoryDao;
-import hotel.dto.RoomWithGuestsDto;
+import hotel.dto.EndOfDayReport;
+import hotel.dto.GuestDto;
+import hotel.dto.RoomDto;
+import hotel.dto.RoomGuestsDto;
+import hotel.event.GuestsChangedEvent;
+import hotel.event.RoomChangedEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -28,21 +47,37 @@ public class HotelServiceFacade {
 
     private static final Logger logger = LogManager.getLogger(HotelServiceFacade.class);
 
+    private static final Set<RoomStatus> RELEASABLE_STATUSES = EnumSet.of(RoomStatus.CLEANING, RoomStatus.MAINTENANCE);
+
     private final GuestService guestService;
     private final RoomService roomService;
     private final RoomDao roomDao;
     private final GuestDao guestDao;
     private final RoomGuestHistoryDao historyDao;
+    private final ReservationDao reservationDao;
     private final HotelState hotelState;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final RoomLockManager roomLocks;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+
+    @Value("${end-of-day.chunk.size:100}")
+    private int endOfDayChunkSize;
 
     @Autowired
-    HotelServiceFacade(GuestService guestService, RoomService roomService, RoomDao roomDao, GuestDao guestDao, RoomGuestHistoryDao historyDao, HotelState hotelState) {
+    HotelServiceFacade(GuestService guestService, RoomService roomService, RoomDao roomDao, GuestDao guestDao, RoomGuestHistoryDao historyDao, ReservationDao reservationDao, HotelState hotelState, ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager, OptimisticRetryExecutor retryExecutor, RoomLockManager roomLocks) {
         this.guestService = guestService;
         this.roomService = roomService;
         this.roomDao = roomDao;
         this.guestDao = guestDao;
         this.historyDao = historyDao;
+        this.reservationDao = reservationDao;
         this.hotelState = hotelState;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryExecutor = retryExecutor;
+        this.roomLocks = roomLocks;
     }
 
     public String getRoomInformation(int roomNumber) {
@@ -66,37 +101,39 @@ public class HotelServiceFacade {
         return info.toString();
     }
 
-    public List<RoomWithGuestsDto> getSortedRooms(RoomSort sortBy, SortDirection direction) {
-        List<Room> rooms = roomService.getAllRooms();
-        Map<Integer, Room> sortedRooms = roomService.sortRooms(rooms, sortBy, direction);
-
-        List<RoomWithGuestsDto> result = new ArrayList<>();
-        for (Room room : sortedRooms.values()) {
-            List<Guest> guests = guestService.getGuestsByRoom(room.getNumber());
-            result.add(new RoomWithGuestsDto(room, guests));
-        }
+    @Transactional(readOnly = true)
+    public List<RoomGuestsDto> getSortedRooms(RoomSort sortBy, SortDirection direction) {
+        List<RoomDto> rooms = roomDao.findSortedDtos(null, sortBy, direction);
+        return attachGuests(rooms, guestDao.findPlacedDtos());
+    }
 
-        return result;
+    @Transactional(readOnly = true)
+    public List<RoomGuestsDto> getSortedAvailableRooms(RoomSort sortBy, SortDirection direction) {
+        List<RoomDto> rooms = roomDao.findSortedDtos(RoomStatus.AVAILABLE, sortBy, direction);
+        return attachGuests(rooms, guestDao.findDtosByRoomStatus(RoomStatus.AVAILABLE));
     }
 
-    public List<RoomWithGuestsDto> getSortedAvailableRooms(RoomSort sortBy, SortDirection direction) {
-        List<Room> rooms = roomService.getAvailableRooms();
-        Map<Integer, Room> sortedRooms = roomService.sortRooms(rooms, sortBy, direction);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Guest> checkIn(List<Guest> guests, int roomNumber, int days) {
+        LocalDate currentDay = hotelState.getCurrentDay();
+        return roomLocks.execute(roomNumber, () -> retryExecutor.execute("check_in", () -> doCheckIn(guests, roomNumber, days, currentDay)));
+    }
 
-        List<RoomWithGuestsDto> result = new ArrayList<>();
-        for (Room room : sortedRooms.values()) {
-            List<Guest> guests = guestService.getGuestsByRoom(room.getNumber());
-            result.add(new RoomWithGuestsDto(room, guests));
-        }
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Guest> checkInReservation(int reservationId, List<Guest> guests) {
+        LocalDate currentDay = hotelState.getCurrentDay();
+        int roomNumber = findReservation(reservationId).getRoomNumber();
+        return roomLocks.execute(roomNumber, () -> retryExecutor.execute("check_in_reservation",
+                () -> doCheckInReservation(reservationId, guests, currentDay)));
+    }
 
-        return result;
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean checkOut(int roomNumber) {
+        return roomLocks.execute(roomNumber, () -> retryExecutor.execute("check_out", () -> doCheckOut(roomNumber)));
     }
 
-    @Transactional
-    public List<Guest> checkIn(List<Guest> guests, int roomNumber, int days) {
+    private List<Guest> doCheckIn(List<Guest> guests, int roomNumber, int days, LocalDate currentDay) {
         try {
-            LocalDate currentDay = hotelState.getCurrentDay();
-
             Room room = roomDao.findById(roomNumber)
                     .orElseThrow(() -> new DaoException("Комната не найдена: " + roomNumber));
 
@@ -104,24 +141,74 @@ public class HotelServiceFacade {
                 return new ArrayList<>();
             }
 
-            room.markAsOccupied(currentDay, days);
-            roomDao.update(room);
+            rejectReserved(roomNumber, currentDay, currentDay.plusDays(days + 1L));
+            return occupy(room, guests, days, currentDay);
+        } catch (ConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DaoException("Ошибка заселения", e);
+        }
+    }
 
-            List<Guest> savedGuests = new ArrayList<>();
-            for (Guest guest : guests) {
-                guest.setRoomNumber(roomNumber);
-                Guest saved = guestDao.save(guest);
-                savedGuests.add(saved);
+    private List<Guest> doCheckInReservation(int reservationId, List<Guest> guests, LocalDate currentDay) {
+        try {
+            Reservation reservation = findReservation(reservationId);
+            if (currentDay.isBefore(reservation.getStartDate()) || !currentDay.isBefore(reservation.getEndDate())) {
+                throw new ConflictException("Бронь " + reservationId + " действует с " + reservation.getStartDate()
+                        + " по " + reservation.getEndDate() + ", текущий день " + currentDay);
             }
 
-            return savedGuests;
+            int roomNumber = reservation.getRoomNumber();
+            Room room = roomDao.findById(roomNumber)
+                    .orElseThrow(() -> new DaoException("Комната не найдена: " + roomNumber));
+            if (!room.canCheckIn(guests.size())) {
+                throw new ConflictException("Комната " + roomNumber + " не может принять гостей: " + guests.size()
+                        + ", статус " + room.getStatus());
+            }
+
+            reservationDao.delete(reservationId);
+            rejectReserved(roomNumber, currentDay, reservation.getEndDate());
+            int days = (int) ChronoUnit.DAYS.between(currentDay, reservation.getEndDate());
+            return occupy(room, guests, days, currentDay);
+        } catch (ConflictException e) {
+            throw e;
         } catch (Exception e) {
-            throw new DaoException("Ошибка заселения", e);
+            throw new DaoException("Ошибка заселения по брони", e);
         }
     }
 
-    @Transactional
-    public boolean checkOut(int roomNumber) {
+    private Reservation findReservation(int reservationId) {
+        return reservationDao.findById(reservationId)
+                .orElseThrow(() -> new DaoException("Бронь не найдена: " + reservationId));
+    }
+
+    private void rejectReserved(int roomNumber, LocalDate from, LocalDate to) {
+        List<Reservation> blocking = reservationDao.findOverlapping(roomNumber, from, to);
+        if (!blocking.isEmpty()) {
+            Reservation reservation = blocking.get(0);
+            throw new ConflictException("Комната " + roomNumber + " забронирована (бронь " + reservation.getId()
+                    + ", " + reservation.getGuestName() + ", " + reservation.getStartDate() + " - "
+                    + reservation.getEndDate() + ")");
+        }
+    }
+
+    private List<Guest> occupy(Room room, List<Guest> guests, int days, LocalDate currentDay) {
+        int roomNumber = room.getNumber();
+        RoomStatus previousStatus = room.getStatus();
+        room.markAsOccupied(currentDay, days);
+        roomDao.update(room);
+
+        for (Guest guest : guests) {
+            guest.setRoomNumber(roomNumber);
+        }
+
+        List<Guest> saved = guestDao.saveAll(guests);
+        publishRoomChanged(room, previousStatus);
+        eventPublisher.publishEvent(new GuestsChangedEvent(roomNumber, saved.size()));
+        return saved;
+    }
+
+    private boolean doCheckOut(int roomNumber) {
         try {
             Room room = roomDao.findById(roomNumber)
                     .orElseThrow(() -> new DaoException("Комната не найдена: " + roomNumber));
@@ -137,40 +224,131 @@ public class HotelServiceFacade {
             }
 
             int nextGroupId = historyDao.getNextGroupId(roomNumber);
+            List<RoomGuestHistory> histories = new ArrayList<>(guests.size());
+            for (Guest guest : guests) {
+                histories.add(RoomGuestHistory.fromGuest(guest, roomNumber, nextGroupId));
+            }
+            historyDao.persistAll(histories);
+
             for (Guest guest : guests) {
-                RoomGuestHistory history = RoomGuestHistory.fromGuest(guest, roomNumber, nextGroupId);
-                historyDao.save(history);
                 guestDao.delete(guest.getId());
             }
 
+            RoomStatus previousStatus = room.getStatus();
             room.markAsAvailable();
             roomDao.update(room);
+            publishRoomChanged(room, previousStatus);
+            eventPublisher.publishEvent(new GuestsChangedEvent(roomNumber, -guests.size()));
             return true;
         } catch (Exception e) {
             throw new DaoException("Ошибка выселения", e);
         }
     }
 
-    @Transactional
-    public LocalDate nextDay() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EndOfDayReport nextDay() {
         LocalDate newDay = hotelState.nextDay();
 
-        performEndOfDayOperations();
+        sweepLock.lock();
+        try {
+            EndOfDayReport report = new EndOfDayReport(newDay, 0, 0, 0, 0, 0);
+            for (long epoch = hotelState.getSweptEpoch() + 1; epoch <= newDay.toEpochDay(); epoch++) {
+                EndOfDayReport sweep = performEndOfDayOperations(LocalDate.ofEpochDay(epoch));
+                hotelState.markSwept(epoch);
+                logger.info("Конец дня {}: освобождено {} комнат за {} мс, выселено {} комнат ({} пакетов) за {} мс",
+                        sweep.day(), sweep.releasedRooms(), sweep.releaseMs(),
+                        sweep.checkedOutRooms(), sweep.checkoutChunks(), sweep.checkoutMs());
+
+                if (epoch == newDay.toEpochDay()) {
+                    report = sweep;
+                }
+            }
+            return report;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private EndOfDayReport performEndOfDayOperations(LocalDate day) {
+        long releaseStartedAt = System.nanoTime();
+        int released = releaseExpiredRooms(day);
+        long releaseMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - releaseStartedAt);
+
+        long checkoutStartedAt = System.nanoTime();
+        int checkedOut = 0;
+        int chunks = 0;
+        int after = 0;
+        while (true) {
+            List<Integer> roomNumbers = roomDao.findNumbersByEndDateAndStatus(day, RoomStatus.OCCUPIED, after, endOfDayChunkSize);
+            if (roomNumbers.isEmpty()) {
+                break;
+            }
 
-        return newDay;
+            Integer chunkCheckedOut = roomLocks.execute(roomNumbers, () -> transactionTemplate.execute(status -> checkOutRooms(roomNumbers)));
+            checkedOut += chunkCheckedOut != null ? chunkCheckedOut : 0;
+            chunks++;
+            after = roomNumbers.get(roomNumbers.size() - 1);
+
+            if (roomNumbers.size() < endOfDayChunkSize) {
+                break;
+            }
+        }
+        long checkoutMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - checkoutStartedAt);
+
+        return new EndOfDayReport(day, released, releaseMs, checkedOut, chunks, checkoutMs);
     }
 
-    @Transactional
-    private void performEndOfDayOperations() {
-        for (Room room : roomService.getAllRooms()) {
-            LocalDate endDate = room.getEndDate();
-            if (endDate != null && endDate.equals(hotelState.getCurrentDay())) {
-                if (room.getStatus() == RoomStatus.OCCUPIED) {
-                    checkOut(room.getNumber());
-                } else if (room.getStatus() == RoomStatus.CLEANING || room.getStatus() == RoomStatus.MAINTENANCE) {
-                    roomService.setRoomAvailable(room.getNumber());
-                }
+    private int releaseExpiredRooms(LocalDate day) {
+        List<Integer> candidates = roomDao.findNumbersByEndDateAndStatuses(day, RELEASABLE_STATUSES);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        Integer released = roomLocks.execute(candidates, () -> transactionTemplate.execute(status -> releaseRooms(day, candidates)));
+        return released != null ? released : 0;
+    }
+
+    private int releaseRooms(LocalDate day, List<Integer> candidates) {
+        List<Room> expiring = roomDao.lockByEndDateAndStatuses(candidates, day, RELEASABLE_STATUSES);
+        if (expiring.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> roomNumbers = expiring.stream()
+                .map(Room::getNumber)
+                .toList();
+        int released = roomDao.releaseRooms(roomNumbers, day, RELEASABLE_STATUSES);
+
+        for (Room room : expiring) {
+            eventPublisher.publishEvent(new RoomChangedEvent(room.getNumber(), room.getType(), room.getStatus(), room.getType(), RoomStatus.AVAILABLE, room.getEndDate()));
+        }
+
+        return released;
+    }
+
+    private int checkOutRooms(List<Integer> roomNumbers) {
+        int checkedOut = 0;
+        for (int roomNumber : roomNumbers) {
+            if (checkOut(roomNumber)) {
+                checkedOut++;
             }
         }
+        return checkedOut;
+    }
+
+    private void publishRoomChanged(Room room, RoomStatus previousStatus) {
+        eventPublisher.publishEvent(new RoomChangedEvent(room.getNumber(), room.getType(), previousStatus, room.getType(), room.getStatus(), room.getEndDate()));
+    }
+
+    private List<RoomGuestsDto> attachGuests(List<RoomDto> rooms, List<GuestDto> guests) {
+        Map<Integer, List<GuestDto>> guestsByRoom = guests.stream()
+                .collect(Collectors.groupingBy(GuestDto::getRoomNumber));
+
+        List<RoomGuestsDto> result = new ArrayList<>(rooms.size());
+        for (RoomDto room : rooms) {
+            result.add(new RoomGuestsDto(room, guestsByRoom.get(room.getNumber())));
+        }
+
+        return result;
     }
 }
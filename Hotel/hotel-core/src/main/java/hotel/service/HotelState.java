@@ -1,58 +1,206 @@
 package hotel.service;
 
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
 
-import java.io.Serializable;
-import java.io.ObjectOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.FileInputStream;
-import java.io.File;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
 
 @Component
-public class HotelState implements Serializable {
+public class HotelState {
 
-    private static final long serialVersionUID = 1L;
-    private static final String STATE_FILE = System.getProperty("user.home") + "/hotel_state.ser";;
+    private static final Logger logger = LogManager.getLogger(HotelState.class);
 
-    private LocalDate currentDay;
+    private static final Path STATE_FILE = Path.of(System.getProperty("user.home"), "hotel_state.bin");
+    private static final Path LEGACY_STATE_FILE = STATE_FILE.resolveSibling("hotel_state.ser");
+    private static final Path MIGRATED_STATE_FILE = STATE_FILE.resolveSibling("hotel_state.ser.migrated");
+
+    private static final int MAGIC = 0x48544C32;
+    private static final int SLOT_SIZE = 32;
+    private static final int SLOT_COUNT = 2;
+    private static final int EPOCH_DAY_OFFSET = 4;
+    private static final int SWEPT_EPOCH_OFFSET = 12;
+    private static final int SEQUENCE_OFFSET = 20;
+    private static final int CHECKSUM_OFFSET = 28;
+
+    private final AtomicReference<LocalDate> currentDay;
+    private final AtomicLong sweptEpoch;
+    private long sequence;
+
+    private FileChannel channel;
 
     public HotelState() {
-        this.currentDay = LocalDate.now();
+        LocalDate today = LocalDate.now();
+        this.currentDay = new AtomicReference<>(today);
+        this.sweptEpoch = new AtomicLong(today.toEpochDay());
     }
 
     public LocalDate getCurrentDay() {
-        return currentDay;
+        return currentDay.get();
+    }
+
+    public long getSweptEpoch() {
+        return sweptEpoch.get();
     }
 
     public LocalDate nextDay() {
-        currentDay = currentDay.plusDays(1);
+        LocalDate next = currentDay.updateAndGet(day -> day.plusDays(1));
         save();
-        return currentDay;
+        return next;
     }
 
-    public void save() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(STATE_FILE))) {
-            oos.writeObject(currentDay);
+    public boolean markSwept(long epoch) {
+        if (!sweptEpoch.compareAndSet(epoch - 1, epoch)) {
+            return false;
+        }
+        save();
+        return true;
+    }
+
+    public synchronized void save() {
+        long nextSequence = sequence + 1;
+        ByteBuffer slot = encode(currentDay.get().toEpochDay(), sweptEpoch.get(), nextSequence);
+
+        try {
+            FileChannel fileChannel = channel();
+            long position = (nextSequence % SLOT_COUNT) * SLOT_SIZE;
+            while (slot.hasRemaining()) {
+                fileChannel.write(slot, position + slot.position());
+            }
+            fileChannel.force(false);
+            sequence = nextSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка сохранения состояния", e);
+        }
+    }
+
+    public synchronized void load() {
+        if (!Files.exists(STATE_FILE)) {
+            migrateLegacyState();
+            return;
+        }
+
+        try {
+            FileChannel fileChannel = channel();
+            long bestSequence = -1;
+            long bestEpochDay = 0;
+            long bestSweptEpoch = 0;
+
+            for (int i = 0; i < SLOT_COUNT; i++) {
+                ByteBuffer slot = readSlot(fileChannel, i);
+
+                if (isValid(slot) && slot.getLong(SEQUENCE_OFFSET) > bestSequence) {
+                    bestSequence = slot.getLong(SEQUENCE_OFFSET);
+                    bestEpochDay = slot.getLong(EPOCH_DAY_OFFSET);
+                    bestSweptEpoch = slot.getLong(SWEPT_EPOCH_OFFSET);
+                }
+            }
+
+            if (bestSequence < 0) {
+                logger.warn("Файл состояния {} не содержит корректных записей, используется текущая дата", STATE_FILE);
+                return;
+            }
+
+            currentDay.set(LocalDate.ofEpochDay(bestEpochDay));
+            sweptEpoch.set(bestSweptEpoch);
+            sequence = bestSequence;
+            logger.info("Состояние восстановлено: день {}, обработан день {}, запись {}",
+                    currentDay.get(), LocalDate.ofEpochDay(bestSweptEpoch), sequence);
         } catch (IOException e) {
-            throw new RuntimeException("Ошибка сохранения состояния", e);
+            throw new UncheckedIOException("Ошибка загрузки состояния", e);
         }
     }
 
-    public void load() {
-        File file = new File(STATE_FILE);
-        if (!file.exists()) {
+    private void migrateLegacyState() {
+        if (!Files.exists(LEGACY_STATE_FILE)) {
             return;
         }
 
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(file))) {
-            this.currentDay = (LocalDate) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            throw new RuntimeException("Ошибка загрузки состояния", e);
+        LocalDate legacyDay;
+        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(LEGACY_STATE_FILE))) {
+            legacyDay = (LocalDate) ois.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Не удалось прочитать старый файл состояния {}, используется текущая дата", LEGACY_STATE_FILE, e);
+            return;
+        }
+
+        currentDay.set(legacyDay);
+        sweptEpoch.set(legacyDay.toEpochDay());
+        save();
+
+        try {
+            Files.move(LEGACY_STATE_FILE, MIGRATED_STATE_FILE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка переименования старого файла состояния", e);
         }
+        logger.info("Состояние перенесено из {} в {}: день {}", LEGACY_STATE_FILE, STATE_FILE, legacyDay);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            boolean created = !Files.exists(STATE_FILE);
+            channel = FileChannel.open(STATE_FILE, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (created) {
+                channel.write(ByteBuffer.allocate(SLOT_SIZE * SLOT_COUNT), 0);
+                channel.force(true);
+            }
+        }
+        return channel;
+    }
+
+    private static ByteBuffer readSlot(FileChannel fileChannel, int index) throws IOException {
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+        long position = (long) index * SLOT_SIZE;
+        while (slot.hasRemaining()) {
+            if (fileChannel.read(slot, position + slot.position()) < 0) {
+                break;
+            }
+        }
+        slot.flip();
+        return slot;
+    }
+
+    private static ByteBuffer encode(long epochDay, long sweptEpoch, long sequence) {
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+        slot.putInt(MAGIC);
+        slot.putLong(epochDay);
+        slot.putLong(sweptEpoch);
+        slot.putLong(sequence);
+        slot.putInt(checksum(slot.array()));
+        slot.clear();
+        return slot;
+    }
+
+    private static boolean isValid(ByteBuffer slot) {
+        return slot.remaining() == SLOT_SIZE
+                && slot.getInt(0) == MAGIC
+                && slot.getInt(CHECKSUM_OFFSET) == checksum(slot.array());
+    }
+
+    private static int checksum(byte[] slot) {
+        CRC32 crc = new CRC32();
+        crc.update(slot, 0, CHECKSUM_OFFSET);
+        return (int) crc.getValue();
     }
 }
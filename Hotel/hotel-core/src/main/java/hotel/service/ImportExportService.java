@@ -11,20 +11,33 @@ import hotel.Room;
 import hotel.CSVService;
 import hotel.GuestServiceUsage;
 import hotel.dto.GuestWithServicesDto;
+import hotel.dto.ImportReport;
 import hotel.dto.RoomWithGuestsDto;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @org.springframework.stereotype.Service
 @Transactional(readOnly = true)
 public class ImportExportService {
 
+    private static final Logger logger = LogManager.getLogger(ImportExportService.class);
+
     private final RoomService roomService;
     private final GuestService guestService;
     private final ServiceService serviceService;
@@ -33,9 +46,17 @@ public class ImportExportService {
     private final RoomCSVConverter roomCSVConverter;
     private final GuestCSVConverter guestCSVConverter;
     private final ServiceCSVConverter serviceCSVConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomLockManager roomLocks;
+
+    @Value("${export.fetch.size:500}")
+    private int exportFetchSize;
+
+    @Value("${import.chunk.size:1000}")
+    private int importChunkSize;
 
     @Autowired
-    public ImportExportService(RoomService roomService, GuestService guestService, ServiceService serviceService, HotelServiceFacade hotelFacade, RoomCSVConverter roomCSVConverter, GuestCSVConverter guestCSVConverter, ServiceCSVConverter serviceCSVConverter) {
+    public ImportExportService(RoomService roomService, GuestService guestService, ServiceService serviceService, HotelServiceFacade hotelFacade, RoomCSVConverter roomCSVConverter, GuestCSVConverter guestCSVConverter, ServiceCSVConverter serviceCSVConverter, PlatformTransactionManager transactionManager, RoomLockManager roomLocks) {
         this.roomService = roomService;
         this.guestService = guestService;
         this.serviceService = serviceService;
@@ -43,6 +64,8 @@ public class ImportExportService {
         this.roomCSVConverter = roomCSVConverter;
         this.guestCSVConverter = guestCSVConverter;
         this.serviceCSVConverter = serviceCSVConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roomLocks = roomLocks;
     }
 
     @Transactional
@@ -76,85 +99,92 @@ public class ImportExportService {
     }
 
     public void exportRooms(String filePath) {
-        List<RoomWithGuestsDto> roomsForExport = new ArrayList<>();
-        for (Room room : roomService.getAllRooms()) {
-            List<Guest> guests = guestService.getGuestsByRoom(room.getNumber());
-            roomsForExport.add(new RoomWithGuestsDto(room, guests));
+        try (CSVService.CSVWriter<RoomWithGuestsDto> writer = CSVService.openWriter(filePath, roomCSVConverter)) {
+            roomService.forEachRoomWithGuests(exportFetchSize, writer::write);
+        }
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReport importGuests(String filePath) {
+        Map<String, Service> services = serviceService.getServiceMap();
+        GuestImport guestImport = new GuestImport();
+
+        int rows = CSVService.forEachFromCSV(filePath, line -> guestCSVConverter.fromCSV(line, services), guestImport::accept);
+        guestImport.flush();
+
+        if (!guestImport.errorRooms.isEmpty()) {
+            throw new ImportExportException("Не удалось расселить постояльцев. Комнаты: " + guestImport.errorRooms);
         }
 
-        CSVService.exportToCSV(roomsForExport, filePath, roomCSVConverter);
+        long elapsedNanos = System.nanoTime() - guestImport.startedAt;
+        return new ImportReport(rows - guestImport.rejected, guestImport.chunks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond(guestImport.processedRows, elapsedNanos));
     }
 
-    @Transactional
-    public int importGuests(String filePath) {
-        List<GuestWithServicesDto> importedGuests = CSVService.importFromCSV(filePath, guestCSVConverter);
-        int importedGuestsCount = importedGuests.size();
-        boolean isErrorOccurred = false;
-        StringBuilder errorRooms = new StringBuilder();
-
-        Map<Integer, List<GuestWithServicesDto>> dtosByRoom = importedGuests.stream()
-                .filter(dto -> dto.getGuest().getRoomNumber() > 0)
-                .collect(Collectors.groupingBy(dto -> dto.getGuest().getRoomNumber()));
-
-        for (Map.Entry<Integer, List<GuestWithServicesDto>> entry : dtosByRoom.entrySet()) {
-            int roomNumber = entry.getKey();
-            List<GuestWithServicesDto> roomDtos = entry.getValue();
-
-            if (!roomService.isRoomExists(roomNumber)) {
-                isErrorOccurred = true;
-                errorRooms.append(roomNumber).append(" (не существует) ");
-                importedGuestsCount -= roomDtos.size();
-                continue;
+    private int importGuestChunk(Map<Integer, List<GuestWithServicesDto>> chunk, StringBuilder errorRooms) {
+        Integer rejected = roomLocks.execute(chunk.keySet(), () -> transactionTemplate.execute(status -> {
+            int rejectedGuests = 0;
+            List<GuestServiceUsage> usages = new ArrayList<>();
+
+            for (Map.Entry<Integer, List<GuestWithServicesDto>> entry : chunk.entrySet()) {
+                rejectedGuests += importRoomGuests(entry.getKey(), entry.getValue(), usages, errorRooms);
             }
 
-            Room room = roomService.getRoomByNumber(roomNumber);
-            List<Guest> guests = roomDtos.stream()
-                    .map(GuestWithServicesDto::getGuest)
-                    .collect(Collectors.toList());
-
-            if (room.getStatus() == RoomStatus.AVAILABLE) {
-                if (!hotelFacade.checkIn(guests, roomNumber, 1).isEmpty()) {
-                    saveGuestServices(roomDtos);
-                } else {
-                    isErrorOccurred = true;
-                    errorRooms.append(roomNumber).append(" ");
-                    importedGuestsCount -= roomDtos.size();
-                }
-            } else if (room.getStatus() == RoomStatus.OCCUPIED) {
-                List<Guest> currentGuests = guestService.getGuestsByRoom(roomNumber);
+            guestService.addServiceUsages(usages);
+            return rejectedGuests;
+        }));
 
-                if (areGuestGroupsIdentical(guests, currentGuests)) {
-                    for (Guest guest : guests) {
-                        guestService.updateGuest(guest);
-                    }
-                    saveGuestServices(roomDtos);
-                } else {
-                    isErrorOccurred = true;
-                    errorRooms.append(roomNumber).append(" (занята другими) ");
-                    importedGuestsCount -= roomDtos.size();
+        return rejected != null ? rejected : 0;
+    }
+
+    private int importRoomGuests(int roomNumber, List<GuestWithServicesDto> roomDtos, List<GuestServiceUsage> usages, StringBuilder errorRooms) {
+        if (!roomService.isRoomExists(roomNumber)) {
+            errorRooms.append(roomNumber).append(" (не существует) ");
+            return roomDtos.size();
+        }
+
+        Room room = roomService.getRoomByNumber(roomNumber);
+        List<Guest> guests = roomDtos.stream()
+                .map(GuestWithServicesDto::getGuest)
+                .collect(Collectors.toList());
+
+        if (room.getStatus() == RoomStatus.AVAILABLE) {
+            if (!hotelFacade.checkIn(guests, roomNumber, 1).isEmpty()) {
+                collectGuestServices(roomDtos, usages);
+                return 0;
+            }
+            errorRooms.append(roomNumber).append(" ");
+        } else if (room.getStatus() == RoomStatus.OCCUPIED) {
+            List<Guest> currentGuests = guestService.getGuestsByRoom(roomNumber);
+
+            if (areGuestGroupsIdentical(guests, currentGuests)) {
+                for (Guest guest : guests) {
+                    guestService.updateGuest(guest);
                 }
-            } else {
-                isErrorOccurred = true;
-                errorRooms.append(roomNumber).append(" (недоступна) ");
-                importedGuestsCount -= roomDtos.size();
+                collectGuestServices(roomDtos, usages);
+                return 0;
             }
+            errorRooms.append(roomNumber).append(" (занята другими) ");
+        } else {
+            errorRooms.append(roomNumber).append(" (недоступна) ");
         }
 
-        if (isErrorOccurred) {
-            throw new ImportExportException("Не удалось расселить постояльцев. Комнаты: " + errorRooms);
-        }
+        return roomDtos.size();
+    }
 
-        return importedGuestsCount;
+    private void logChunkProgress(int chunk, int chunkRows, int processedRows, long startedAt) {
+        double rowsPerSecond = rowsPerSecond(processedRows, System.nanoTime() - startedAt);
+        logger.info("Импорт гостей: пакет {} ({} строк), обработано {}, {} строк/с", chunk, chunkRows, processedRows, String.format("%.1f", rowsPerSecond));
+    }
+
+    private static double rowsPerSecond(int rows, long elapsedNanos) {
+        return elapsedNanos > 0 ? rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
     }
 
     public void exportGuests(String filePath) {
-        List<GuestWithServicesDto> guestsWithServices = new ArrayList<>();
-        for (Guest guest : guestService.getAllGuests()) {
-            List<GuestServiceUsage> usages = guestService.getGuestServices(guest.getId());
-            guestsWithServices.add(new GuestWithServicesDto(guest, usages));
+        try (CSVService.CSVWriter<GuestWithServicesDto> writer = CSVService.openWriter(filePath, guestCSVConverter)) {
+            guestService.forEachGuestWithServices(exportFetchSize, writer::write);
         }
-
-        CSVService.exportToCSV(guestsWithServices, filePath, guestCSVConverter);
     }
 
     @Transactional
@@ -173,8 +203,10 @@ public class ImportExportService {
     }
 
     public void exportServices(String filePath) {
-        List<Service> services = serviceService.getAllServices();
-        CSVService.exportToCSV(services, filePath, serviceCSVConverter);
+        try (CSVService.CSVWriter<Service> writer = CSVService.openWriter(filePath, serviceCSVConverter);
+             Stream<Service> services = serviceService.streamServices(exportFetchSize)) {
+            services.forEach(writer::write);
+        }
     }
 
     private boolean areGuestGroupsIdentical(List<Guest> group1, List<Guest> group2) {
@@ -193,15 +225,59 @@ public class ImportExportService {
         return group1Ids.equals(group2Ids);
     }
 
-    private void saveGuestServices(List<GuestWithServicesDto> dtos) {
+    private void collectGuestServices(List<GuestWithServicesDto> dtos, List<GuestServiceUsage> usages) {
         for (GuestWithServicesDto dto : dtos) {
-            for (GuestServiceUsage usage : dto.getServiceUsages()) {
-                guestService.addServiceToGuest(
-                        dto.getGuest().getId(),
-                        usage.getService().getId(),
-                        usage.getUsageDate()
-                );
+            usages.addAll(dto.getServiceUsages());
+        }
+    }
+
+    private final class GuestImport {
+
+        private final long startedAt = System.nanoTime();
+        private final StringBuilder errorRooms = new StringBuilder();
+        private final Set<Integer> importedRooms = new HashSet<>();
+        private final Set<Integer> splitRooms = new HashSet<>();
+        private Map<Integer, List<GuestWithServicesDto>> chunk = new LinkedHashMap<>();
+        private int chunkRows;
+        private int lastRoom;
+        private int rejected;
+        private int chunks;
+        private int processedRows;
+
+        private void accept(GuestWithServicesDto dto) {
+            int roomNumber = dto.getGuest().getRoomNumber();
+            if (roomNumber <= 0) {
+                return;
             }
+
+            if (roomNumber != lastRoom && chunkRows >= importChunkSize) {
+                flush();
+            }
+            lastRoom = roomNumber;
+
+            if (importedRooms.contains(roomNumber)) {
+                if (splitRooms.add(roomNumber)) {
+                    errorRooms.append(roomNumber).append(" (строки комнаты разнесены по файлу) ");
+                }
+                rejected++;
+                return;
+            }
+
+            chunk.computeIfAbsent(roomNumber, key -> new ArrayList<>()).add(dto);
+            chunkRows++;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            rejected += importGuestChunk(chunk, errorRooms);
+            processedRows += chunkRows;
+            logChunkProgress(++chunks, chunkRows, processedRows, startedAt);
+            importedRooms.addAll(chunk.keySet());
+            chunk = new LinkedHashMap<>();
+            chunkRows = 0;
         }
     }
 }
@@ -0,0 +1,107 @@
+package hotel.service;
+
+import enums.RoomStatus;
+import enums.RoomType;
+import hotel.dao.GuestDao;
+import hotel.dao.RoomDao;
+import hotel.event.GuestsChangedEvent;
+import hotel.event.RoomChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@DependsOn("liquibase")
+public class OccupancyStatistics {
+
+    private static final Logger logger = LogManager.getLogger(OccupancyStatistics.class);
+
+    private final GuestDao guestDao;
+    private final RoomDao roomDao;
+
+    private final AtomicLong guests = new AtomicLong();
+    private final AtomicLongArray roomsByStatus = new AtomicLongArray(RoomStatus.values().length);
+    private final AtomicLongArray roomsByType = new AtomicLongArray(RoomType.values().length);
+
+    @Autowired
+    public OccupancyStatistics(GuestDao guestDao, RoomDao roomDao) {
+        this.guestDao = guestDao;
+        this.roomDao = roomDao;
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        guests.set(guestDao.count());
+        Map<RoomStatus, Long> statusCounts = roomDao.countByStatus();
+        for (RoomStatus status : RoomStatus.values()) {
+            roomsByStatus.set(status.ordinal(), statusCounts.getOrDefault(status, 0L));
+        }
+        Map<RoomType, Long> typeCounts = roomDao.countByType();
+        for (RoomType type : RoomType.values()) {
+            roomsByType.set(type.ordinal(), typeCounts.getOrDefault(type, 0L));
+        }
+        logger.info("Статистика загружена: гостей {}, комнат {}", guests.get(), getRoomsCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGuestsChanged(GuestsChangedEvent event) {
+        guests.addAndGet(event.delta());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRoomChanged(RoomChangedEvent event) {
+        if (!event.isCreated()) {
+            roomsByStatus.decrementAndGet(event.previousStatus().ordinal());
+            roomsByType.decrementAndGet(event.previousType().ordinal());
+        }
+        roomsByStatus.incrementAndGet(event.status().ordinal());
+        roomsByType.incrementAndGet(event.type().ordinal());
+    }
+
+    public long getGuestsCount() {
+        return guests.get();
+    }
+
+    public long getRoomsCount(RoomStatus status) {
+        return roomsByStatus.get(status.ordinal());
+    }
+
+    public long getRoomsCount(RoomType type) {
+        return roomsByType.get(type.ordinal());
+    }
+
+    public long getRoomsCount() {
+        long total = 0;
+        for (RoomType type : RoomType.values()) {
+            total += roomsByType.get(type.ordinal());
+        }
+        return total;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (RoomStatus status : RoomStatus.values()) {
+            byStatus.put(status.name(), getRoomsCount(status));
+        }
+        Map<String, Long> byType = new LinkedHashMap<>();
+        for (RoomType type : RoomType.values()) {
+            byType.put(type.name(), getRoomsCount(type));
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("guests", getGuestsCount());
+        snapshot.put("rooms", getRoomsCount());
+        snapshot.put("roomsByStatus", byStatus);
+        snapshot.put("roomsByType", byType);
+        return snapshot;
+    }
+}
@@ -0,0 +1,116 @@
+package hotel.service;
+
+import exceptions.ConflictException;
+import hotel.metrics.MetricsRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.StaleStateException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger logger = LogManager.getLogger(OptimisticRetryExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsRegistry metricsRegistry;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager, MetricsRegistry metricsRegistry,
+                                   @Value("${optimistic.retry.max-attempts:3}") int maxAttempts,
+                                   @Value("${optimistic.retry.backoff-ms:20}") long backoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricsRegistry = metricsRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    public void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Внутри уже открытой транзакции действие выполняется один раз без повторов: изменения сбрасываются
+     * в базу, чтобы конфликт версий проявился здесь. Конфликт при фиксации внешней транзакции
+     * обрабатывает вызывающий код (в REST-слое он возвращается как 409).
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                T result = action.get();
+                entityManager.flush();
+                return result;
+            } catch (RuntimeException e) {
+                if (!isOptimisticFailure(e)) {
+                    throw e;
+                }
+                throw conflict(operation, 1, e);
+            }
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (RuntimeException e) {
+                if (!isOptimisticFailure(e)) {
+                    throw e;
+                }
+
+                if (attempt >= maxAttempts) {
+                    throw conflict(operation, attempt, e);
+                }
+
+                metricsRegistry.counter("optimistic_retries", "operation", operation).increment();
+                logger.warn("Конфликт версий в операции {}, попытка {} из {}", operation, attempt, maxAttempts);
+                pause(attempt);
+            }
+        }
+    }
+
+    private ConflictException conflict(String operation, int attempts, RuntimeException cause) {
+        metricsRegistry.counter("optimistic_conflicts", "operation", operation).increment();
+        return new ConflictException("Данные изменены параллельно, операция " + operation
+                + " не выполнена после " + attempts + " попыток", cause);
+    }
+
+    private void pause(int attempt) {
+        long delay = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Повтор операции прерван", e);
+        }
+    }
+
+    private boolean isOptimisticFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException
+                    || cause instanceof OptimisticLockingFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package hotel.service;
+
+import enums.RoomStatus;
+import enums.RoomType;
+import exceptions.ConflictException;
+import exceptions.DaoException;
+import exceptions.ValidationException;
+import hotel.Reservation;
+import hotel.Room;
+import hotel.dao.ReservationDao;
+import hotel.dao.RoomDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ReservationService {
+
+    private final ReservationDao reservationDao;
+    private final RoomDao roomDao;
+    private final HotelState hotelState;
+    private final OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    public ReservationService(ReservationDao reservationDao, RoomDao roomDao, HotelState hotelState, OptimisticRetryExecutor retryExecutor) {
+        this.reservationDao = reservationDao;
+        this.roomDao = roomDao;
+        this.hotelState = hotelState;
+        this.retryExecutor = retryExecutor;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Reservation reserve(int roomNumber, String guestName, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        if (guestName == null || guestName.isBlank()) {
+            throw new ValidationException("Не указано имя гостя");
+        }
+
+        return retryExecutor.execute("reserve", () -> doReserve(roomNumber, guestName, from, to));
+    }
+
+    public Reservation getReservation(int id) {
+        return reservationDao.findById(id).orElseThrow(() -> new DaoException("Бронь не найдена: " + id));
+    }
+
+    public List<Reservation> getRoomReservations(int roomNumber, LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Дата окончания должна быть позже даты начала");
+        }
+        return reservationDao.findOverlapping(roomNumber, from, to);
+    }
+
+    public List<Room> getFreeRooms(LocalDate from, LocalDate to, RoomType type, int minCapacity) {
+        validatePeriod(from, to);
+        return reservationDao.findFreeRooms(from, to, type, minCapacity);
+    }
+
+    @Transactional
+    public void cancel(int id) {
+        if (!reservationDao.delete(id)) {
+            throw new DaoException("Бронь не найдена: " + id);
+        }
+    }
+
+    private Reservation doReserve(int roomNumber, String guestName, LocalDate from, LocalDate to) {
+        Room room = roomDao.findById(roomNumber)
+                .orElseThrow(() -> new DaoException("Комната не найдена: " + roomNumber));
+        roomDao.forceVersionIncrement(room);
+
+        if (room.getStatus() != RoomStatus.AVAILABLE && room.getEndDate() != null && !room.getEndDate().isBefore(from)) {
+            throw new ConflictException("Комната " + roomNumber + " занята до " + room.getEndDate());
+        }
+
+        return reservationDao.save(new Reservation(roomNumber, guestName, from, to));
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new ValidationException("Не указан период бронирования");
+        }
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Дата окончания должна быть позже даты начала");
+        }
+        if (from.isBefore(hotelState.getCurrentDay())) {
+            throw new ValidationException("Нельзя бронировать в прошлом: " + from);
+        }
+    }
+}
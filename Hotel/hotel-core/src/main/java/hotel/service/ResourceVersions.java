@@ -0,0 +1,53 @@
+package hotel.service;
+
+import enums.ResourceFamily;
+import hotel.event.GuestsChangedEvent;
+import hotel.event.RoomChangedEvent;
+import hotel.event.ServiceChangedEvent;
+import hotel.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ResourceVersions {
+
+    private final Map<ResourceFamily, AtomicLong> versions = new EnumMap<>(ResourceFamily.class);
+
+    @Autowired
+    public ResourceVersions(MetricsRegistry metricsRegistry) {
+        long initial = System.currentTimeMillis();
+        for (ResourceFamily family : ResourceFamily.values()) {
+            AtomicLong version = new AtomicLong(initial);
+            versions.put(family, version);
+            metricsRegistry.gauge("resource_version", version::get, "family", family.getTag());
+        }
+    }
+
+    public long current(ResourceFamily family) {
+        return versions.get(family).get();
+    }
+
+    public long bump(ResourceFamily family) {
+        return versions.get(family).incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        bump(ResourceFamily.ROOMS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGuestsChanged(GuestsChangedEvent event) {
+        bump(ResourceFamily.ROOMS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceChanged(ServiceChangedEvent event) {
+        bump(ResourceFamily.SERVICES);
+    }
+}
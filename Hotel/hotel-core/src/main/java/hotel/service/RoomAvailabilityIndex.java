@@ -0,0 +1,218 @@
+package hotel.service;
+
+import hotel.dao.RoomDao;
+import hotel.event.RoomChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@DependsOn("liquibase")
+public class RoomAvailabilityIndex {
+
+    private static final Logger logger = LogManager.getLogger(RoomAvailabilityIndex.class);
+
+    private static final long NEVER_BUSY = Long.MIN_VALUE;
+
+    private final RoomDao roomDao;
+    private final HotelState hotelState;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int horizonDays;
+
+    private final Map<Integer, Integer> bitByRoom = new HashMap<>();
+    private int[] roomByBit = new int[0];
+    private long[] busyUntil = new long[0];
+    private int roomCount;
+
+    private BitSet[] freeByDay;
+    private BitSet freeBeyondHorizon;
+    private int firstSlot;
+    private long baseDay;
+
+    @Autowired
+    public RoomAvailabilityIndex(RoomDao roomDao, HotelState hotelState,
+                                 @Value("${availability.horizon.days:365}") int horizonDays) {
+        this.roomDao = roomDao;
+        this.hotelState = hotelState;
+        this.horizonDays = horizonDays;
+    }
+
+    @PostConstruct
+    public void reload() {
+        Map<Integer, LocalDate> endDates = roomDao.findEndDates();
+
+        lock.writeLock().lock();
+        try {
+            bitByRoom.clear();
+            roomCount = 0;
+            roomByBit = new int[Math.max(16, endDates.size())];
+            busyUntil = new long[roomByBit.length];
+            for (Map.Entry<Integer, LocalDate> entry : endDates.entrySet()) {
+                busyUntil[bitFor(entry.getKey())] = toEpochDay(entry.getValue());
+            }
+            rebuild(hotelState.getCurrentDay().toEpochDay());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Индекс доступности построен: {} комнат, горизонт {} дней", roomCount, horizonDays);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            align(hotelState.getCurrentDay().toEpochDay());
+            int bit = bitFor(event.roomNumber());
+            busyUntil[bit] = toEpochDay(event.endDate());
+            for (int offset = 0; offset < horizonDays; offset++) {
+                freeByDay[slot(offset)].set(bit, isFree(bit, baseDay + offset));
+            }
+            freeBeyondHorizon.set(bit, isFree(bit, baseDay + horizonDays));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Integer> getFreeRooms(LocalDate day) {
+        return getFreeRooms(day, day);
+    }
+
+    public List<Integer> getFreeRooms(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Дата окончания раньше даты начала: " + from + " - " + to);
+        }
+
+        lockAlignedForRead();
+        try {
+            long fromDay = from.toEpochDay();
+            long toDay = to.toEpochDay();
+            long horizonEnd = baseDay + horizonDays;
+            BitSet free = new BitSet(roomCount);
+            free.set(0, roomCount);
+
+            if (fromDay < baseDay || fromDay > horizonEnd) {
+                free.and(scan(fromDay));
+            }
+            for (long day = Math.max(fromDay, baseDay); day <= Math.min(toDay, horizonEnd - 1) && !free.isEmpty(); day++) {
+                free.and(freeByDay[slot((int) (day - baseDay))]);
+            }
+            if (fromDay <= horizonEnd && toDay >= horizonEnd) {
+                free.and(freeBeyondHorizon);
+            }
+
+            return toRoomNumbers(free);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void lockAlignedForRead() {
+        lock.readLock().lock();
+        if (hotelState.getCurrentDay().toEpochDay() == baseDay) {
+            return;
+        }
+        lock.readLock().unlock();
+
+        lock.writeLock().lock();
+        try {
+            align(hotelState.getCurrentDay().toEpochDay());
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void align(long today) {
+        long shift = today - baseDay;
+        if (shift == 0) {
+            return;
+        }
+        if (shift < 0 || shift >= horizonDays) {
+            rebuild(today);
+            return;
+        }
+
+        for (int i = 0; i < shift; i++) {
+            BitSet dropped = freeByDay[firstSlot];
+            firstSlot = (firstSlot + 1) % horizonDays;
+            baseDay++;
+            dropped.clear();
+            dropped.or(scan(baseDay + horizonDays - 1));
+        }
+        freeBeyondHorizon = scan(baseDay + horizonDays);
+    }
+
+    private void rebuild(long today) {
+        baseDay = today;
+        firstSlot = 0;
+        freeByDay = new BitSet[horizonDays];
+        for (int offset = 0; offset < horizonDays; offset++) {
+            freeByDay[offset] = scan(baseDay + offset);
+        }
+        freeBeyondHorizon = scan(baseDay + horizonDays);
+    }
+
+    private BitSet scan(long day) {
+        BitSet free = new BitSet(roomCount);
+        for (int bit = 0; bit < roomCount; bit++) {
+            if (isFree(bit, day)) {
+                free.set(bit);
+            }
+        }
+        return free;
+    }
+
+    private boolean isFree(int bit, long day) {
+        return busyUntil[bit] == NEVER_BUSY || day > busyUntil[bit];
+    }
+
+    private int bitFor(int roomNumber) {
+        Integer bit = bitByRoom.get(roomNumber);
+        if (bit != null) {
+            return bit;
+        }
+
+        if (roomCount == roomByBit.length) {
+            int capacity = Math.max(16, roomByBit.length * 2);
+            roomByBit = Arrays.copyOf(roomByBit, capacity);
+            busyUntil = Arrays.copyOf(busyUntil, capacity);
+        }
+
+        int newBit = roomCount++;
+        roomByBit[newBit] = roomNumber;
+        busyUntil[newBit] = NEVER_BUSY;
+        bitByRoom.put(roomNumber, newBit);
+        return newBit;
+    }
+
+    private int slot(int offset) {
+        return (firstSlot + offset) % horizonDays;
+    }
+
+    private List<Integer> toRoomNumbers(BitSet free) {
+        List<Integer> roomNumbers = new ArrayList<>(free.cardinality());
+        for (int bit = free.nextSetBit(0); bit >= 0; bit = free.nextSetBit(bit + 1)) {
+            roomNumbers.add(roomByBit[bit]);
+        }
+        return roomNumbers;
+    }
+
+    private static long toEpochDay(LocalDate date) {
+        return date == null ? NEVER_BUSY : date.toEpochDay();
+    }
+}
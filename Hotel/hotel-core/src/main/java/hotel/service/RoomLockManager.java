@@ -0,0 +1,108 @@
+package hotel.service;
+
+import exceptions.ConflictException;
+import hotel.metrics.LatencyHistogram;
+import hotel.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class RoomLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final LatencyHistogram[] waitTimes;
+    private final long timeoutMs;
+
+    @Autowired
+    public RoomLockManager(MetricsRegistry metricsRegistry,
+                           @Value("${room.lock.stripes:64}") int stripeCount,
+                           @Value("${room.lock.timeout-ms:5000}") long timeoutMs) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.waitTimes = new LatencyHistogram[size];
+        this.timeoutMs = timeoutMs;
+
+        for (int i = 0; i < size; i++) {
+            ReentrantLock lock = new ReentrantLock();
+            String stripe = String.valueOf(i);
+            stripes[i] = lock;
+            waitTimes[i] = metricsRegistry.histogram("room_lock_wait", "stripe", stripe);
+            metricsRegistry.gauge("room_lock_queue", lock::getQueueLength, "stripe", stripe);
+        }
+    }
+
+    public void run(int roomNumber, Runnable action) {
+        execute(roomNumber, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(int roomNumber, Supplier<T> action) {
+        int stripe = stripeOf(roomNumber);
+        ReentrantLock lock = stripes[stripe];
+
+        long startedAt = System.nanoTime();
+        acquire(lock, roomNumber);
+        waitTimes[stripe].record(System.nanoTime() - startedAt);
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock, int roomNumber) {
+        try {
+            if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ConflictException("Комната " + roomNumber + " занята другой операцией, повторите позже");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Ожидание блокировки комнаты " + roomNumber + " прервано", e);
+        }
+    }
+
+    public <T> T execute(Collection<Integer> roomNumbers, Supplier<T> action) {
+        SortedMap<Integer, Integer> roomByStripe = new TreeMap<>();
+        for (int roomNumber : roomNumbers) {
+            roomByStripe.putIfAbsent(stripeOf(roomNumber), roomNumber);
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(roomByStripe.size());
+        try {
+            for (Map.Entry<Integer, Integer> entry : roomByStripe.entrySet()) {
+                int stripe = entry.getKey();
+                ReentrantLock lock = stripes[stripe];
+
+                long startedAt = System.nanoTime();
+                acquire(lock, entry.getValue());
+                held.add(lock);
+                waitTimes[stripe].record(System.nanoTime() - startedAt);
+            }
+
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    private int stripeOf(int roomNumber) {
+        int hash = roomNumber * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
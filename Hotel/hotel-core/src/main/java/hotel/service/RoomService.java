@@ -1,24 +1,32 @@
 package hotel.service;
 
 import enums.RoomSort;
+import enums.RoomStatus;
+import enums.RoomType;
 import enums.SortDirection;
 import exceptions.DaoException;
+import exceptions.ValidationException;
 import hotel.Room;
 import hotel.HotelConfig;
 import hotel.RoomGuestHistory;
+import hotel.dto.RoomDto;
+import hotel.dto.RoomWithGuestsDto;
 
 import java.time.LocalDate;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.List;
 import java.util.LinkedHashMap;
 import java.util.Comparator;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import hotel.dao.RoomDao;
 import hotel.dao.RoomGuestHistoryDao;
+import hotel.event.RoomChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -30,23 +38,53 @@ public class RoomService {
     private final HotelState hotelState;
 
     private final HotelConfig config;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OccupancyStatistics statistics;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final RoomLockManager roomLocks;
 
     @Autowired
-    public RoomService(RoomDao roomDao, RoomGuestHistoryDao historyDao, HotelState hotelState, HotelConfig config) {
+    public RoomService(RoomDao roomDao, RoomGuestHistoryDao historyDao, HotelState hotelState, HotelConfig config, ApplicationEventPublisher eventPublisher, OccupancyStatistics statistics, RoomAvailabilityIndex availabilityIndex, OptimisticRetryExecutor retryExecutor, RoomLockManager roomLocks) {
         this.roomDao = roomDao;
         this.hotelState = hotelState;
         this.historyDao = historyDao;
         this.config = config;
+        this.eventPublisher = eventPublisher;
+        this.statistics = statistics;
+        this.availabilityIndex = availabilityIndex;
+        this.retryExecutor = retryExecutor;
+        this.roomLocks = roomLocks;
     }
 
     public List<Room> getAllRooms() {
         return roomDao.findAll();
     }
 
+    public List<RoomDto> getRoomDtos() {
+        return roomDao.findDtos(null);
+    }
+
+    public List<RoomDto> getRoomDtosPage(Integer after, int limit) {
+        return roomDao.findDtoPage(after, limit);
+    }
+
+    public List<RoomDto> getAvailableRoomDtos() {
+        return roomDao.findDtos(RoomStatus.AVAILABLE);
+    }
+
+    public void forEachRoomWithGuests(int fetchSize, Consumer<RoomWithGuestsDto> consumer) {
+        roomDao.forEachWithGuests(fetchSize, consumer);
+    }
+
     public List<Room> getAvailableRooms() {
         return roomDao.findAvailable();
     }
 
+    public int getAvailableRoomsCount() {
+        return (int) statistics.getRoomsCount(RoomStatus.AVAILABLE);
+    }
+
     public Room getRoomByNumber(int roomNumber) {
         return roomDao.findById(roomNumber).orElseThrow(() -> new DaoException("Комната не найдена: " + roomNumber));
     }
@@ -55,100 +93,147 @@ public class RoomService {
         return getRoomByNumber(roomNumber) != null;
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateRoomPrice(int roomNumber, int price) {
-        try {
-            Room room = getRoomByNumber(roomNumber);
+        roomLocks.run(roomNumber, () -> retryExecutor.run("room_price", () -> {
+            try {
+                Room room = getRoomByNumber(roomNumber);
 
-            room.setPrice(price);
-            roomDao.update(room);
-        } catch (Exception e) {
-            throw new DaoException("Ошибка обновления цены комнаты", e);
-        }
+                room.setPrice(price);
+                roomDao.update(room);
+                publishRoomChanged(room, room.getType(), room.getStatus());
+            } catch (Exception e) {
+                throw new DaoException("Ошибка обновления цены комнаты", e);
+            }
+        }));
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateRoom(Room room) {
-        try {
-            roomDao.update(room);
-        } catch (Exception e) {
-            throw new DaoException("Ошибка обновления комнаты", e);
-        }
+        roomLocks.run(room.getNumber(), () -> retryExecutor.run("room_update", () -> {
+            try {
+                Room current = getRoomByNumber(room.getNumber());
+                RoomType previousType = current.getType();
+                RoomStatus previousStatus = current.getStatus();
+
+                room.setVersion(current.getVersion());
+                roomDao.update(room);
+                publishRoomChanged(room, previousType, previousStatus);
+            } catch (Exception e) {
+                throw new DaoException("Ошибка обновления комнаты", e);
+            }
+        }));
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean setRoomUnderMaintenance(int roomNumber, int days) {
         LocalDate date = hotelState.getCurrentDay();
 
-        try {
-            Room room = getRoomByNumber(roomNumber);
+        return roomLocks.execute(roomNumber, () -> retryExecutor.execute("room_maintenance", () -> {
+            try {
+                Room room = getRoomByNumber(roomNumber);
+                RoomStatus previousStatus = room.getStatus();
 
-            if (room.setUnderMaintenance(date, days)) {
-                roomDao.update(room);
-                return true;
-            }
+                if (room.setUnderMaintenance(date, days)) {
+                    roomDao.update(room);
+                    publishRoomChanged(room, room.getType(), previousStatus);
+                    return true;
+                }
 
-            return false;
-        } catch (Exception e) {
-            throw new DaoException("Ошибка перевода комнаты на обслуживание", e);
-        }
+                return false;
+            } catch (Exception e) {
+                throw new DaoException("Ошибка перевода комнаты на обслуживание", e);
+            }
+        }));
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean setRoomCleaning(int roomNumber) {
         LocalDate date = hotelState.getCurrentDay();
 
-        try {
-            Room room = getRoomByNumber(roomNumber);
+        return roomLocks.execute(roomNumber, () -> retryExecutor.execute("room_cleaning", () -> {
+            try {
+                Room room = getRoomByNumber(roomNumber);
+                RoomStatus previousStatus = room.getStatus();
 
-            if (room.setCleaning(date)) {
-                roomDao.update(room);
-                return true;
-            }
+                if (room.setCleaning(date)) {
+                    roomDao.update(room);
+                    publishRoomChanged(room, room.getType(), previousStatus);
+                    return true;
+                }
 
-            return false;
-        } catch (Exception e) {
-            throw new DaoException("Ошибка уборки комнаты", e);
-        }
+                return false;
+            } catch (Exception e) {
+                throw new DaoException("Ошибка уборки комнаты", e);
+            }
+        }));
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean setRoomAvailable(int roomNumber) {
-        try {
-            Room room = getRoomByNumber(roomNumber);
+        return roomLocks.execute(roomNumber, () -> retryExecutor.execute("room_available", () -> {
+            try {
+                Room room = getRoomByNumber(roomNumber);
+                RoomStatus previousStatus = room.getStatus();
 
-            if (room.setAvailable()) {
-                roomDao.update(room);
-                return true;
-            }
+                if (room.setAvailable()) {
+                    roomDao.update(room);
+                    publishRoomChanged(room, room.getType(), previousStatus);
+                    return true;
+                }
 
-            return false;
-        } catch (Exception e) {
-            throw new DaoException("Ошибка перевода комнаты в доступный режим");
-        }
+                return false;
+            } catch (Exception e) {
+                throw new DaoException("Ошибка перевода комнаты в доступный режим", e);
+            }
+        }));
     }
 
     @Transactional
     public Room saveRoom(Room room) {
         try {
             Room savedRoom = roomDao.save(room);
+            eventPublisher.publishEvent(RoomChangedEvent.created(savedRoom.getNumber(), savedRoom.getType(), savedRoom.getStatus(), savedRoom.getEndDate()));
             return savedRoom;
         } catch (Exception e) {
             throw new DaoException("Ошибка при сохранении комнаты", e);
         }
     }
 
+    private void publishRoomChanged(Room room, RoomType previousType, RoomStatus previousStatus) {
+        eventPublisher.publishEvent(new RoomChangedEvent(room.getNumber(), previousType, previousStatus, room.getType(), room.getStatus(), room.getEndDate()));
+    }
+
     public Map<Integer, Room> getAvailableRoomsByDate(int days) {
+        validateDayOffsets(days, days);
         LocalDate currentDate = hotelState.getCurrentDay();
         LocalDate date = currentDate.plusDays(days);
-        Map<Integer, Room> availableRoomsByDate = new HashMap<>();
-        for (Room room : getAllRooms()) {
-            LocalDate endDate = room.getEndDate();
-            if (endDate == null || date.isAfter(endDate)) {
-                availableRoomsByDate.put(room.getNumber(), room);
+        return loadRooms(availabilityIndex.getFreeRooms(date));
+    }
+
+    public Map<Integer, Room> getAvailableRoomsBetween(int fromDays, int toDays) {
+        validateDayOffsets(fromDays, toDays);
+        LocalDate currentDate = hotelState.getCurrentDay();
+        return loadRooms(availabilityIndex.getFreeRooms(currentDate.plusDays(fromDays), currentDate.plusDays(toDays)));
+    }
+
+    private void validateDayOffsets(int fromDays, int toDays) {
+        if (fromDays < 0) {
+            throw new ValidationException("Смещение в днях не может быть отрицательным: " + fromDays);
+        }
+        if (fromDays > toDays) {
+            throw new ValidationException("Конец периода раньше начала: " + fromDays + " - " + toDays);
+        }
+    }
+
+    private Map<Integer, Room> loadRooms(List<Integer> roomNumbers) {
+        Map<Integer, Room> rooms = new LinkedHashMap<>();
+        for (Room room : roomDao.findByNumbers(roomNumbers)) {
+            if (room != null) {
+                rooms.put(room.getNumber(), room);
             }
         }
-        return availableRoomsByDate;
+        return rooms;
     }
 
     public List<List<RoomGuestHistory>> getRoomHistory(int roomNumber) {
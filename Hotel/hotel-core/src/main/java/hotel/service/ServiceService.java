@@ -5,27 +5,48 @@ import enums.SortDirection;
 import exceptions.DaoException;
 import hotel.Service;
 import hotel.dao.ServiceDao;
+import hotel.event.ServiceChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @org.springframework.stereotype.Service
 @Transactional(readOnly = true)
 public class ServiceService {
 
     private ServiceDao serviceDao;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    ServiceService(ServiceDao serviceDao) {
+    ServiceService(ServiceDao serviceDao, ApplicationEventPublisher eventPublisher) {
         this.serviceDao = serviceDao;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Service> getAllServices() {
         return serviceDao.findAll();
     }
 
+    public Stream<Service> streamServices(int fetchSize) {
+        return serviceDao.streamAll(fetchSize);
+    }
+
+    public List<Service> getServicesPage(String after, int limit) {
+        return serviceDao.findPage(after, limit);
+    }
+
+    public Map<String, Service> getServiceMap() {
+        return getAllServices().stream()
+                .collect(Collectors.toMap(Service::getId, Function.identity()));
+    }
+
     public Service getServiceById(String id) {
         return serviceDao.findById(id).orElseThrow(() -> new DaoException("Услуга не найдена: " + id));
     }
@@ -51,6 +72,7 @@ public class ServiceService {
 
             service.setPrice(price);
             serviceDao.update(service);
+            eventPublisher.publishEvent(new ServiceChangedEvent(serviceId));
         } catch (Exception e) {
             throw new DaoException("Ошибка обновления цены услуги", e);
         }
@@ -60,6 +82,7 @@ public class ServiceService {
     public void updateService(Service service) {
         try {
             serviceDao.update(service);
+            eventPublisher.publishEvent(new ServiceChangedEvent(service.getId()));
         } catch (Exception e) {
             throw new DaoException("Ошибка обновления услуги", e);
         }
@@ -69,6 +92,7 @@ public class ServiceService {
     public Service saveService(Service service) {
         try {
             Service savedService = serviceDao.save(service);
+            eventPublisher.publishEvent(new ServiceChangedEvent(savedService.getId()));
             return savedService;
         } catch (Exception e) {
             throw new DaoException("Ошибка при сохранении услуги", e);
@@ -0,0 +1,89 @@
+package hotel.dao;
+
+import hotel.RoomGuestHistory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomGuestHistoryBatchInsertTest {
+
+    private static final int ROWS = 200;
+    private static final int BATCH_SIZE = 50;
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    @Test
+    void persistAllBatchesHistoryInserts() {
+        long batched = preparedStatementsForPersistAll("batched", BATCH_SIZE);
+        long unbatched = preparedStatementsForPersistAll("unbatched", 1);
+
+        int insertStatements = ROWS / BATCH_SIZE;
+        int sequenceCalls = ROWS / ID_ALLOCATION_SIZE;
+        assertTrue(batched <= insertStatements + sequenceCalls + 1,
+                "С пакетной вставкой подготовлено запросов: " + batched);
+        assertTrue(unbatched >= ROWS, "Без пакетной вставки подготовлено запросов: " + unbatched);
+        assertTrue(batched * 10 < unbatched, "Пакетная вставка: " + batched + ", без пакетов: " + unbatched);
+    }
+
+    private static long preparedStatementsForPersistAll(String database, int batchSize) {
+        LocalContainerEntityManagerFactoryBean factoryBean = entityManagerFactory(database, batchSize);
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        try {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            RoomGuestHistoryDao historyDao = new RoomGuestHistoryDao();
+            historyDao.entityManager = entityManager;
+
+            List<RoomGuestHistory> histories = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                histories.add(new RoomGuestHistory("G" + i, "Имя" + i, "Фамилия" + i, 100 + i % 10, 1));
+            }
+
+            statistics.clear();
+            entityManager.getTransaction().begin();
+            historyDao.persistAll(histories);
+            entityManager.getTransaction().commit();
+            entityManager.close();
+
+            assertEquals(ROWS, statistics.getEntityInsertCount());
+            return statistics.getPrepareStatementCount();
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory(String database, int batchSize) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+
+        Properties props = new Properties();
+        props.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+        props.setProperty("hibernate.generate_statistics", "true");
+        props.setProperty("hibernate.cache.use_second_level_cache", "false");
+        props.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+        props.setProperty("hibernate.order_inserts", "true");
+        props.setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(RoomGuestHistory.class.getName()));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setSharedCacheMode(SharedCacheMode.NONE);
+        factoryBean.setJpaProperties(props);
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+}
@@ -0,0 +1,171 @@
+package hotel.service;
+
+import exceptions.ConflictException;
+import hotel.metrics.MetricKey;
+import hotel.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class RoomLockManagerConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 500;
+    private static final int ROOMS = 8;
+    private static final int INITIAL_BALANCE = 1_000;
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final RoomLockManager roomLocks = new RoomLockManager(metricsRegistry, 4, 10_000);
+
+    @Test
+    void lockedWritersNeverConflictOrLoseUpdates() throws Exception {
+        OptimisticRetryExecutor retryExecutor = new OptimisticRetryExecutor(new NoOpTransactionManager(), metricsRegistry, 3, 0);
+        VersionedRooms rooms = new VersionedRooms();
+
+        runConcurrently(() -> {
+            int roomNumber = ThreadLocalRandom.current().nextInt(ROOMS);
+            roomLocks.run(roomNumber, () -> retryExecutor.run("check_in", () -> rooms.increment(roomNumber)));
+        });
+
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, rooms.total());
+        assertEquals(0, counter("optimistic_retries", "check_in"));
+        assertEquals(0, counter("optimistic_conflicts", "check_in"));
+    }
+
+    @Test
+    void unlockedWritersAreRetriedWithoutLosingUpdates() throws Exception {
+        OptimisticRetryExecutor retryExecutor = new OptimisticRetryExecutor(new NoOpTransactionManager(), metricsRegistry, 1_000, 0);
+        VersionedRooms rooms = new VersionedRooms();
+        AtomicInteger committed = new AtomicInteger();
+
+        runConcurrently(() -> {
+            int roomNumber = ThreadLocalRandom.current().nextInt(ROOMS);
+            try {
+                retryExecutor.run("check_in", () -> rooms.increment(roomNumber));
+                committed.incrementAndGet();
+            } catch (ConflictException e) {
+                return;
+            }
+        });
+
+        assertEquals(committed.get(), rooms.total());
+    }
+
+    @Test
+    void multiRoomLocksSerializeTransfersWithoutDeadlock() {
+        int[] balances = new int[ROOMS];
+        Arrays.fill(balances, INITIAL_BALANCE);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int from = random.nextInt(ROOMS);
+            int to = random.nextInt(ROOMS);
+            roomLocks.execute(List.of(to, from), () -> roomLocks.execute(from, () -> {
+                int amount = balances[from];
+                Thread.yield();
+                balances[from] = amount - 1;
+                balances[to] = balances[to] + 1;
+                return null;
+            }));
+        }));
+
+        int total = 0;
+        for (int balance : balances) {
+            total += balance;
+        }
+        assertEquals(ROOMS * INITIAL_BALANCE, total);
+    }
+
+    private long counter(String name, String operation) {
+        LongAdder counter = metricsRegistry.getCounters().get(MetricKey.of(name, "operation", operation));
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private static void runConcurrently(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Void> worker = () -> {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                        operation.run();
+                    }
+                    return null;
+                };
+                futures.add(executor.submit(worker));
+            }
+
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class VersionedRooms {
+
+        private final List<AtomicReference<RoomRow>> rows = new ArrayList<>();
+
+        private VersionedRooms() {
+            for (int i = 0; i < ROOMS; i++) {
+                rows.add(new AtomicReference<>(new RoomRow(0, 0)));
+            }
+        }
+
+        private void increment(int roomNumber) {
+            AtomicReference<RoomRow> row = rows.get(roomNumber);
+            RoomRow read = row.get();
+            Thread.yield();
+            if (!row.compareAndSet(read, new RoomRow(read.version() + 1, read.guests() + 1))) {
+                throw new OptimisticLockingFailureException("Версия комнаты " + roomNumber + " изменена");
+            }
+        }
+
+        private int total() {
+            return rows.stream().mapToInt(row -> row.get().guests()).sum();
+        }
+    }
+
+    private record RoomRow(long version, int guests) {
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
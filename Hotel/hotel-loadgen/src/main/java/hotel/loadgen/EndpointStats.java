@@ -0,0 +1,78 @@
+package hotel.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Operation operation;
+    private final Histogram latencyMicros = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public void record(int status, long latencyNanos) {
+        if (status == Workload.SKIPPED) {
+            skipped.increment();
+            return;
+        }
+
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        latencyMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (HotelClient.isSuccess(status)) {
+            ok.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    public void drop() {
+        dropped.increment();
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public long getOk() {
+        return ok.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public Map<String, Long> getStatuses() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        statuses.forEach((status, count) -> snapshot.put(status == Workload.IO_ERROR ? "io-error" : String.valueOf(status), count.sum()));
+        return snapshot;
+    }
+}
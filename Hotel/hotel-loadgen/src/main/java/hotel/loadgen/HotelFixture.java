@@ -0,0 +1,94 @@
+package hotel.loadgen;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+public class HotelFixture {
+
+    private static final int GUEST_LOOKUP_ATTEMPTS = 8;
+
+    private final int[] roomNumbers;
+    private final Map<Integer, Integer> capacities;
+    private final List<String> serviceIds;
+    private final Queue<Integer> freeRooms = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> occupiedRooms = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, List<String>> guestsByRoom = new ConcurrentHashMap<>();
+    private final AtomicReference<LocalDate> currentDay;
+
+    public HotelFixture(Map<Integer, Integer> capacities, List<String> serviceIds, LocalDate currentDay) {
+        this.roomNumbers = capacities.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        this.capacities = Map.copyOf(capacities);
+        this.serviceIds = List.copyOf(serviceIds);
+        this.currentDay = new AtomicReference<>(currentDay);
+    }
+
+    public Integer pollFreeRoom() {
+        return freeRooms.poll();
+    }
+
+    public Integer pollOccupiedRoom() {
+        return occupiedRooms.poll();
+    }
+
+    public void free(int roomNumber) {
+        guestsByRoom.remove(roomNumber);
+        freeRooms.offer(roomNumber);
+    }
+
+    public void occupy(int roomNumber, List<String> guestIds) {
+        if (!guestIds.isEmpty()) {
+            guestsByRoom.put(roomNumber, List.copyOf(guestIds));
+        }
+        occupiedRooms.offer(roomNumber);
+    }
+
+    public List<String> guestsOf(int roomNumber) {
+        return guestsByRoom.getOrDefault(roomNumber, List.of());
+    }
+
+    public int capacityOf(int roomNumber) {
+        return capacities.getOrDefault(roomNumber, 1);
+    }
+
+    public String randomGuest(RandomGenerator random) {
+        for (int i = 0; i < GUEST_LOOKUP_ATTEMPTS; i++) {
+            List<String> guests = guestsByRoom.get(roomNumbers[random.nextInt(roomNumbers.length)]);
+            if (guests != null) {
+                return guests.get(random.nextInt(guests.size()));
+            }
+        }
+        Integer roomNumber = occupiedRooms.peek();
+        List<String> guests = roomNumber == null ? null : guestsByRoom.get(roomNumber);
+        return guests == null ? null : guests.get(random.nextInt(guests.size()));
+    }
+
+    public String randomService(RandomGenerator random) {
+        return serviceIds.get(random.nextInt(serviceIds.size()));
+    }
+
+    public LocalDate getCurrentDay() {
+        return currentDay.get();
+    }
+
+    public void setCurrentDay(LocalDate day) {
+        currentDay.set(day);
+    }
+
+    public int getRoomCount() {
+        return roomNumbers.length;
+    }
+
+    public int getFreeRoomCount() {
+        return freeRooms.size();
+    }
+
+    public int getOccupiedRoomCount() {
+        return occupiedRooms.size();
+    }
+}
@@ -0,0 +1,50 @@
+package hotel.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record LoadConfig(String baseUrl,
+                         double rate,
+                         Duration duration,
+                         Duration warmup,
+                         Duration requestTimeout,
+                         int maxInFlight,
+                         int firstRoom,
+                         int rooms,
+                         int services,
+                         double occupancy,
+                         WorkloadMix mix,
+                         Path result) {
+
+    private static final String DEFAULT_MIX = "rooms=15,available-rooms=20,free-rooms=10,services=15,"
+            + "guest-services=15,add-service=10,check-in=7,check-out=7,next-day=1";
+
+    public static LoadConfig fromSystemProperties() {
+        LoadConfig config = new LoadConfig(
+                property("loadgen.base-url", "http://localhost:8080/hotel"),
+                Double.parseDouble(property("loadgen.rate", "200")),
+                Duration.ofSeconds(Long.parseLong(property("loadgen.duration-seconds", "120"))),
+                Duration.ofSeconds(Long.parseLong(property("loadgen.warmup-seconds", "20"))),
+                Duration.ofMillis(Long.parseLong(property("loadgen.request-timeout-ms", "30000"))),
+                Integer.parseInt(property("loadgen.max-in-flight", "2000")),
+                Integer.parseInt(property("loadgen.first-room", "1000")),
+                Integer.parseInt(property("loadgen.rooms", "500")),
+                Integer.parseInt(property("loadgen.services", "40")),
+                Double.parseDouble(property("loadgen.occupancy", "0.5")),
+                WorkloadMix.parse(property("loadgen.mix", DEFAULT_MIX)),
+                Path.of(property("loadgen.result", "loadgen-report.json")));
+
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("Интенсивность нагрузки должна быть положительной: " + config.rate);
+        }
+        if (config.rooms <= 0 || config.services <= 0) {
+            throw new IllegalArgumentException("Количество комнат и услуг должно быть положительным");
+        }
+        return config;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
@@ -0,0 +1,45 @@
+package hotel.loadgen;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class LoadGenerator {
+
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        config.mix().getWeights().forEach((operation, weight) -> stats.put(operation, new EndpointStats(operation)));
+
+        Instant startedAt;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HotelClient client = new HotelClient(config.baseUrl(), config.requestTimeout(), executor);
+            HotelFixture fixture = new Seeder(client, config).seed();
+
+            startedAt = Instant.now();
+            new OpenLoopDriver(config, new Workload(client, fixture), stats, executor).run();
+        }
+
+        LoadReport report = LoadReport.of(config, startedAt, stats);
+        report.write(config.result());
+
+        logger.info("Итог: {} запросов, {} запросов/с при целевых {}", report.requests(), report.throughput(), report.targetRate());
+        for (LoadReport.EndpointReport endpoint : report.endpoints()) {
+            logger.info(String.format("%-40s %8.2f/с  p50 %8.2f  p95 %8.2f  p99 %8.2f  p999 %8.2f мс  ошибок %d, отброшено %d",
+                    endpoint.endpoint(), endpoint.throughput(), endpoint.latencyMs().p50(), endpoint.latencyMs().p95(),
+                    endpoint.latencyMs().p99(), endpoint.latencyMs().p999(), endpoint.errors(), endpoint.dropped()));
+        }
+        logger.info("Отчёт сохранён в {}", config.result().toAbsolutePath());
+    }
+}
@@ -0,0 +1,94 @@
+package hotel.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record LoadReport(String startedAt,
+                         String baseUrl,
+                         double targetRate,
+                         long measuredSeconds,
+                         long warmupSeconds,
+                         Map<String, Integer> mix,
+                         long requests,
+                         double throughput,
+                         List<EndpointReport> endpoints) {
+
+    public record EndpointReport(String endpoint,
+                                 long requests,
+                                 long ok,
+                                 long errors,
+                                 long skipped,
+                                 long dropped,
+                                 double throughput,
+                                 Latency latencyMs,
+                                 Map<String, Long> statuses) {
+    }
+
+    public record Latency(double p50, double p95, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram micros) {
+            if (micros.getTotalCount() == 0) {
+                return new Latency(0, 0, 0, 0, 0, 0);
+            }
+            return new Latency(
+                    toMillis(micros.getValueAtPercentile(50.0)),
+                    toMillis(micros.getValueAtPercentile(95.0)),
+                    toMillis(micros.getValueAtPercentile(99.0)),
+                    toMillis(micros.getValueAtPercentile(99.9)),
+                    toMillis(micros.getMaxValue()),
+                    Math.round(micros.getMean()) / 1000.0);
+        }
+
+        private static double toMillis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    public static LoadReport of(LoadConfig config, Instant startedAt, Map<Operation, EndpointStats> stats) {
+        long seconds = config.duration().toSeconds();
+        List<EndpointReport> endpoints = new ArrayList<>();
+        long total = 0;
+
+        for (EndpointStats endpointStats : stats.values()) {
+            long requests = endpointStats.getOk() + endpointStats.getErrors();
+            total += requests;
+            endpoints.add(new EndpointReport(
+                    endpointStats.getOperation().getEndpoint(),
+                    requests,
+                    endpointStats.getOk(),
+                    endpointStats.getErrors(),
+                    endpointStats.getSkipped(),
+                    endpointStats.getDropped(),
+                    perSecond(requests, seconds),
+                    Latency.of(endpointStats.getLatencyMicros()),
+                    endpointStats.getStatuses()));
+        }
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().getWeights().forEach((operation, weight) -> mix.put(operation.getKey(), weight));
+
+        return new LoadReport(startedAt.toString(), config.baseUrl(), config.rate(), seconds,
+                config.warmup().toSeconds(), mix, total, perSecond(total, seconds), endpoints);
+    }
+
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+
+    private static double perSecond(long count, long seconds) {
+        return seconds == 0 ? 0 : Math.round(count * 100.0 / seconds) / 100.0;
+    }
+}
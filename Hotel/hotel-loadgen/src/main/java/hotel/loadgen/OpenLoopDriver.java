@@ -0,0 +1,84 @@
+package hotel.loadgen;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class OpenLoopDriver {
+
+    private static final Logger logger = LogManager.getLogger(OpenLoopDriver.class);
+
+    private final LoadConfig config;
+    private final Workload workload;
+    private final Map<Operation, EndpointStats> stats;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+
+    public OpenLoopDriver(LoadConfig config, Workload workload, Map<Operation, EndpointStats> stats, ExecutorService executor) {
+        this.config = config;
+        this.workload = workload;
+        this.stats = stats;
+        this.executor = executor;
+        this.inFlight = new Semaphore(config.maxInFlight());
+    }
+
+    public void run() {
+        SplittableRandom random = new SplittableRandom();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + config.warmup().toNanos();
+        long finishAt = measureFrom + config.duration().toNanos();
+
+        logger.info("Старт нагрузки: {} запросов/с, прогрев {} с, замер {} с",
+                config.rate(), config.warmup().toSeconds(), config.duration().toSeconds());
+
+        long intendedAt = startedAt;
+        while (true) {
+            intendedAt += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+            if (intendedAt >= finishAt) {
+                break;
+            }
+            parkUntil(intendedAt);
+
+            Operation operation = config.mix().next(random);
+            EndpointStats endpointStats = stats.get(operation);
+            boolean measured = intendedAt >= measureFrom;
+
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    endpointStats.drop();
+                }
+                continue;
+            }
+
+            long scheduledAt = intendedAt;
+            executor.execute(() -> {
+                try {
+                    int status = workload.execute(operation, ThreadLocalRandom.current());
+                    if (measured) {
+                        endpointStats.record(status, System.nanoTime() - scheduledAt);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        logger.info("Генерация запросов завершена, ожидание {} незавершённых запросов",
+                config.maxInFlight() - inFlight.availablePermits());
+    }
+
+    private static void parkUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
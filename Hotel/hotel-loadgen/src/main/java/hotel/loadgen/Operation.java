@@ -0,0 +1,39 @@
+package hotel.loadgen;
+
+import java.util.Arrays;
+
+public enum Operation {
+
+    ROOMS("rooms", "GET /api/rooms"),
+    AVAILABLE_ROOMS("available-rooms", "GET /api/rooms/available"),
+    FREE_ROOMS("free-rooms", "GET /api/reservations/free-rooms"),
+    SERVICES("services", "GET /api/services"),
+    GUEST_SERVICES("guest-services", "GET /api/guests/{guestId}/services"),
+    ADD_SERVICE("add-service", "POST /api/guests/{guestId}/services"),
+    CHECK_IN("check-in", "POST /api/rooms/{roomNumber}/checkIn"),
+    CHECK_OUT("check-out", "POST /api/rooms/{roomNumber}/checkOut"),
+    NEXT_DAY("next-day", "POST /api/hotel/next-day");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестная операция в профиле нагрузки: " + key));
+    }
+}
@@ -0,0 +1,122 @@
+package hotel.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class Seeder {
+
+    private static final Logger logger = LogManager.getLogger(Seeder.class);
+
+    private static final String[] ROOM_TYPES = {"ECONOM", "STANDARD", "LUXURY", "PRESIDENTIAL"};
+    private static final int MAX_CAPACITY = 4;
+
+    private final HotelClient client;
+    private final LoadConfig config;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    public Seeder(HotelClient client, LoadConfig config) {
+        this.client = client;
+        this.config = config;
+    }
+
+    public HotelFixture seed() throws IOException, InterruptedException {
+        LocalDate currentDay = LocalDate.parse(expectJson(client.get("/api/hotel/date"), "дата отеля")
+                .path("currentDay").asText());
+
+        int createdRooms = createRooms();
+        List<String> serviceIds = createServices();
+        HotelFixture fixture = loadRooms(serviceIds, currentDay);
+
+        logger.info("Подготовлено комнат: {} (создано {}), услуг: {}, день отеля {}",
+                fixture.getRoomCount(), createdRooms, serviceIds.size(), currentDay);
+
+        int target = (int) Math.round(fixture.getRoomCount() * config.occupancy()) - fixture.getOccupiedRoomCount();
+        Workload workload = new Workload(client, fixture);
+        int checkedIn = 0;
+        for (int i = 0; i < target && fixture.getFreeRoomCount() > 0; i++) {
+            if (workload.checkIn(random) == 200) {
+                checkedIn++;
+            }
+        }
+
+        logger.info("Заселено комнат перед нагрузкой: {}, свободно {}, занято {}",
+                checkedIn, fixture.getFreeRoomCount(), fixture.getOccupiedRoomCount());
+        return fixture;
+    }
+
+    private int createRooms() throws IOException, InterruptedException {
+        int created = 0;
+        for (int i = 0; i < config.rooms(); i++) {
+            Map<String, Object> room = Map.of(
+                    "number", config.firstRoom() + i,
+                    "roomType", ROOM_TYPES[i % ROOM_TYPES.length],
+                    "price", 1000 + random.nextInt(9000),
+                    "capacity", 1 + i % MAX_CAPACITY);
+            if (HotelClient.isSuccess(client.post("/api/rooms", room).statusCode())) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private List<String> createServices() throws IOException, InterruptedException {
+        List<String> serviceIds = new ArrayList<>(config.services());
+        for (int i = 0; i < config.services(); i++) {
+            Map<String, Object> service = Map.of(
+                    "name", "Нагрузочная услуга " + i,
+                    "price", 100 + random.nextInt(1900),
+                    "description", "Создана генератором нагрузки");
+            JsonNode saved = expectJson(client.post("/api/services", service), "создание услуги");
+            serviceIds.add(saved.path("id").asText());
+        }
+        return serviceIds;
+    }
+
+    private HotelFixture loadRooms(List<String> serviceIds, LocalDate currentDay) throws IOException, InterruptedException {
+        JsonNode rooms = expectJson(client.get("/api/rooms"), "список комнат");
+        int lastRoom = config.firstRoom() + config.rooms();
+
+        Map<Integer, Integer> capacities = new HashMap<>();
+        List<Integer> available = new ArrayList<>();
+        List<Integer> busy = new ArrayList<>();
+        for (JsonNode room : rooms) {
+            int number = room.path("number").asInt();
+            if (number < config.firstRoom() || number >= lastRoom) {
+                continue;
+            }
+            capacities.put(number, room.path("capacity").asInt(1));
+            if ("AVAILABLE".equals(room.path("status").asText())) {
+                available.add(number);
+            } else {
+                busy.add(number);
+            }
+        }
+
+        if (capacities.isEmpty()) {
+            throw new IllegalStateException("Не удалось подготовить комнаты для нагрузки в диапазоне "
+                    + config.firstRoom() + " - " + (lastRoom - 1));
+        }
+
+        HotelFixture fixture = new HotelFixture(capacities, serviceIds, currentDay);
+        available.forEach(fixture::free);
+        busy.forEach(roomNumber -> fixture.occupy(roomNumber, List.of()));
+        return fixture;
+    }
+
+    private JsonNode expectJson(HttpResponse<byte[]> response, String action) throws IOException {
+        if (!HotelClient.isSuccess(response.statusCode())) {
+            throw new IllegalStateException("Ошибка при подготовке данных (" + action + "): HTTP " + response.statusCode());
+        }
+        return client.readTree(response);
+    }
+}
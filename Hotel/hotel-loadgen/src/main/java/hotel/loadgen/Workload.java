@@ -0,0 +1,151 @@
+package hotel.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+public class Workload {
+
+    public static final int SKIPPED = 0;
+    public static final int IO_ERROR = -1;
+
+    private static final String[] ROOM_SORTS = {"PRICE", "CAPACITY", "TYPE"};
+    private static final String[] DIRECTIONS = {"ASC", "DESC"};
+    private static final int PAGE_LIMIT = 20;
+    private static final int MAX_STAY_DAYS = 5;
+    private static final int RESERVATION_HORIZON_DAYS = 30;
+
+    private final HotelClient client;
+    private final HotelFixture fixture;
+
+    public Workload(HotelClient client, HotelFixture fixture) {
+        this.client = client;
+        this.fixture = fixture;
+    }
+
+    public int execute(Operation operation, RandomGenerator random) {
+        try {
+            return switch (operation) {
+                case ROOMS -> status(client.get("/api/rooms?sortBy=" + pick(ROOM_SORTS, random)
+                        + "&direction=" + pick(DIRECTIONS, random)));
+                case AVAILABLE_ROOMS -> status(client.get("/api/rooms/available?sortBy=" + pick(ROOM_SORTS, random)));
+                case FREE_ROOMS -> freeRooms(random);
+                case SERVICES -> status(client.get("/api/services?limit=" + PAGE_LIMIT));
+                case GUEST_SERVICES -> guestServices(random);
+                case ADD_SERVICE -> addService(random);
+                case CHECK_IN -> checkIn(random);
+                case CHECK_OUT -> checkOut();
+                case NEXT_DAY -> nextDay();
+            };
+        } catch (IOException e) {
+            return IO_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IO_ERROR;
+        }
+    }
+
+    private int freeRooms(RandomGenerator random) throws IOException, InterruptedException {
+        LocalDate from = fixture.getCurrentDay().plusDays(random.nextInt(RESERVATION_HORIZON_DAYS));
+        LocalDate to = from.plusDays(1 + random.nextInt(MAX_STAY_DAYS));
+        return status(client.get("/api/reservations/free-rooms?from=" + from + "&to=" + to
+                + "&capacity=" + (1 + random.nextInt(2))));
+    }
+
+    private int guestServices(RandomGenerator random) throws IOException, InterruptedException {
+        String guestId = fixture.randomGuest(random);
+        if (guestId == null) {
+            return SKIPPED;
+        }
+        return status(client.get("/api/guests/" + guestId + "/services?limit=" + PAGE_LIMIT));
+    }
+
+    private int addService(RandomGenerator random) throws IOException, InterruptedException {
+        String guestId = fixture.randomGuest(random);
+        if (guestId == null) {
+            return SKIPPED;
+        }
+        return status(client.post("/api/guests/" + guestId + "/services",
+                Map.of("serviceId", fixture.randomService(random))));
+    }
+
+    int checkIn(RandomGenerator random) throws IOException, InterruptedException {
+        Integer roomNumber = fixture.pollFreeRoom();
+        if (roomNumber == null) {
+            return SKIPPED;
+        }
+
+        int guestCount = 1 + random.nextInt(fixture.capacityOf(roomNumber));
+        List<Map<String, String>> guests = new ArrayList<>(guestCount);
+        for (int i = 0; i < guestCount; i++) {
+            guests.add(Map.of("firstname", "Гость" + random.nextInt(100_000), "lastname", "Нагрузка" + roomNumber));
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = client.post("/api/rooms/" + roomNumber + "/checkIn",
+                    Map.of("days", 1 + random.nextInt(MAX_STAY_DAYS), "guests", guests));
+        } catch (IOException | InterruptedException e) {
+            fixture.free(roomNumber);
+            throw e;
+        }
+
+        if (response.statusCode() != 200) {
+            fixture.free(roomNumber);
+            return response.statusCode();
+        }
+
+        JsonNode body = client.readTree(response);
+        List<String> guestIds = new ArrayList<>();
+        for (JsonNode guest : body.path("guests")) {
+            guestIds.add(guest.path("id").asText());
+        }
+        fixture.occupy(roomNumber, guestIds);
+        return response.statusCode();
+    }
+
+    private int checkOut() throws IOException, InterruptedException {
+        Integer roomNumber = fixture.pollOccupiedRoom();
+        if (roomNumber == null) {
+            return SKIPPED;
+        }
+
+        List<String> guestIds = fixture.guestsOf(roomNumber);
+        HttpResponse<byte[]> response;
+        try {
+            response = client.post("/api/rooms/" + roomNumber + "/checkOut", null);
+        } catch (IOException | InterruptedException e) {
+            fixture.occupy(roomNumber, guestIds);
+            throw e;
+        }
+
+        if (response.statusCode() == 200 || response.statusCode() == 400) {
+            fixture.free(roomNumber);
+        } else {
+            fixture.occupy(roomNumber, guestIds);
+        }
+        return response.statusCode();
+    }
+
+    private int nextDay() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.post("/api/hotel/next-day", null);
+        if (response.statusCode() == 200) {
+            fixture.setCurrentDay(LocalDate.parse(client.readTree(response).path("currentDay").asText()));
+        }
+        return response.statusCode();
+    }
+
+    private static int status(HttpResponse<byte[]> response) {
+        return response.statusCode();
+    }
+
+    private static String pick(String[] values, RandomGenerator random) {
+        return values[random.nextInt(values.length)];
+    }
+}
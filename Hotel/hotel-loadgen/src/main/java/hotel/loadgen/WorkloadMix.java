@@ -0,0 +1,66 @@
+package hotel.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+public class WorkloadMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public WorkloadMix(Map<Operation, Integer> weights) {
+        this.operations = new Operation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+
+        int total = 0;
+        int index = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Отрицательный вес операции " + entry.getKey().getKey());
+            }
+            total += entry.getValue();
+            operations[index] = entry.getKey();
+            cumulativeWeights[index] = total;
+            index++;
+        }
+
+        if (total == 0) {
+            throw new IllegalArgumentException("Профиль нагрузки не содержит операций с положительным весом");
+        }
+        this.totalWeight = total;
+    }
+
+    public static WorkloadMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] keyValue = part.trim().split("=");
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Некорректный элемент профиля нагрузки: " + part);
+            }
+            weights.put(Operation.fromKey(keyValue[0].trim()), Integer.parseInt(keyValue[1].trim()));
+        }
+        return new WorkloadMix(weights);
+    }
+
+    public Operation next(RandomGenerator random) {
+        int point = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<Operation, Integer> getWeights() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        int previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            weights.put(operations[i], cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return weights;
+    }
+}